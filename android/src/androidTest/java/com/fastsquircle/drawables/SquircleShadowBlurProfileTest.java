@@ -0,0 +1,180 @@
+package com.fastsquircle.drawables;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.BlendMode;
+import android.graphics.BlurMaskFilter;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorSpace;
+import android.graphics.HardwareRenderer;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.RectF;
+import android.graphics.RenderNode;
+import android.hardware.HardwareBuffer;
+import android.media.ImageReader;
+import android.os.Build;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.filters.SdkSuppress;
+
+import com.fastsquircle.utils.SquirclePathCalculator;
+import com.fastsquircle.utils.SquircleShadowAtlas;
+import com.fastsquircle.utils.SquircleShadowBlur;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Compares the blurred shadows of the atlas and of the render effect against the blur mask filter
+ * React Native draws the path with, pixel by pixel on the alpha channel.
+ */
+@RunWith(AndroidJUnit4.class)
+public class SquircleShadowBlurProfileTest {
+
+  private static final float SIZE = 240f;
+  private static final float CORNER_RADIUS = 32f;
+  private static final float CORNER_SMOOTHING = 0.6f;
+  private static final float[] SIGMAS = {2f, 6f, 12f};
+
+  // Both draw the same mask, only the slices are resampled
+  private static final int MAX_ATLAS_DIFFERENCE = 2;
+  // Skia approximates large blurs on the GPU by downsampling
+  private static final int MAX_EFFECT_DIFFERENCE = 8;
+
+  @Test
+  public void atlasTileMatchesTheBlurredPath() {
+    for (float sigma : SIGMAS) {
+      var maskFilter = getMaskFilter(sigma);
+      // Density of 1, the blur radius of React Native is twice the sigma
+      var tile = SquircleShadowAtlas.get(CORNER_RADIUS, CORNER_SMOOTHING, 2f * sigma, 0f, 1f, maskFilter, SIZE, SIZE);
+      assertNotNull("sigma = " + sigma, tile);
+
+      int padding = getPadding(sigma);
+      var actual = createBitmap(padding);
+      var paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+      paint.setColor(Color.BLACK);
+      tile.draw(new Canvas(actual), new RectF(padding, padding, padding + SIZE, padding + SIZE), paint);
+
+      assertProfilesMatch("sigma = " + sigma, drawBlurredPath(sigma), actual, MAX_ATLAS_DIFFERENCE);
+    }
+  }
+
+  @Test
+  @SdkSuppress(minSdkVersion = Build.VERSION_CODES.S)
+  public void renderEffectMatchesTheBlurredPath() {
+    for (float sigma : SIGMAS) {
+      assertProfilesMatch("sigma = " + sigma, drawBlurredPath(sigma), drawRenderEffect(sigma), MAX_EFFECT_DIFFERENCE);
+    }
+  }
+
+  private static BlurMaskFilter getMaskFilter(float sigma) {
+    // Same conversion as the blur mask filter of OutsetBoxShadowDrawable
+    return new BlurMaskFilter(SquircleShadowBlur.getEffectRadius(sigma), BlurMaskFilter.Blur.NORMAL);
+  }
+
+  // Three sigmas of blur around the shape, plus a pixel of margin
+  private static int getPadding(float sigma) {
+    return (int) Math.ceil(3f * sigma) + 2;
+  }
+
+  private static Bitmap createBitmap(int padding) {
+    int size = (int) SIZE + 2 * padding;
+    return Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+  }
+
+  private static Path getSilhouette(int padding) {
+    var path = SquirclePathCalculator.getPath(
+      CORNER_RADIUS, CORNER_RADIUS, CORNER_RADIUS, CORNER_RADIUS,
+      SIZE, SIZE, CORNER_SMOOTHING
+    );
+    path.offset(padding, padding);
+    return path;
+  }
+
+  private static Bitmap drawBlurredPath(float sigma) {
+    int padding = getPadding(sigma);
+    var bitmap = createBitmap(padding);
+    var paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    paint.setColor(Color.BLACK);
+    paint.setMaskFilter(getMaskFilter(sigma));
+    new Canvas(bitmap).drawPath(getSilhouette(padding), paint);
+    return bitmap;
+  }
+
+  // Render effects only apply on the RenderThread, render offscreen and read the buffer back
+  private static Bitmap drawRenderEffect(float sigma) {
+    int padding = getPadding(sigma);
+    int size = (int) SIZE + 2 * padding;
+
+    var reader = ImageReader.newInstance(size, size, PixelFormat.RGBA_8888, 1,
+      HardwareBuffer.USAGE_GPU_SAMPLED_IMAGE | HardwareBuffer.USAGE_GPU_COLOR_OUTPUT);
+    var renderer = new HardwareRenderer();
+    try {
+      renderer.setSurface(reader.getSurface());
+
+      var root = new RenderNode("root");
+      root.setPosition(0, 0, size, size);
+      var canvas = root.beginRecording();
+      canvas.drawColor(Color.TRANSPARENT, BlendMode.CLEAR);
+      var paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+      paint.setColor(Color.BLACK);
+      new SquircleShadowRenderNode().draw(
+        canvas,
+        getSilhouette(padding),
+        new RectF(padding, padding, padding + SIZE, padding + SIZE),
+        sigma,
+        paint
+      );
+      root.endRecording();
+
+      renderer.setContentRoot(root);
+      renderer.createRenderRequest().setWaitForPresent(true).syncAndDraw();
+
+      try (var image = reader.acquireNextImage(); var buffer = image.getHardwareBuffer()) {
+        var bitmap = Bitmap.wrapHardwareBuffer(buffer, ColorSpace.get(ColorSpace.Named.SRGB));
+        assertNotNull(bitmap);
+        return bitmap.copy(Bitmap.Config.ARGB_8888, false);
+      }
+    } finally {
+      renderer.destroy();
+      reader.close();
+    }
+  }
+
+  private static void assertProfilesMatch(String message, Bitmap expected, Bitmap actual, int maxDifference) {
+    assertEquals(message, expected.getWidth(), actual.getWidth());
+    assertEquals(message, expected.getHeight(), actual.getHeight());
+
+    for (int y = 0; y < expected.getHeight(); y++) {
+      for (int x = 0; x < expected.getWidth(); x++) {
+        int expectedAlpha = Color.alpha(expected.getPixel(x, y));
+        int actualAlpha = Color.alpha(actual.getPixel(x, y));
+        assertTrue(
+          message + ", x = " + x + ", y = " + y + ": " + actualAlpha + " instead of " + expectedAlpha,
+          Math.abs(expectedAlpha - actualAlpha) <= maxDifference
+        );
+      }
+    }
+
+    // The blur reaches as far out on both, through the middle of an edge and of a corner
+    int center = expected.getHeight() / 2;
+    assertEquals(message, getExtent(expected, center, false), getExtent(actual, center, false), 1);
+    assertEquals(message, getExtent(expected, 0, true), getExtent(actual, 0, true), 1);
+  }
+
+  // Index of the first pixel with some coverage, along the middle row or the diagonal
+  private static int getExtent(Bitmap bitmap, int row, boolean diagonal) {
+    for (int i = 0; i < bitmap.getWidth(); i++) {
+      int y = diagonal ? i : row;
+      if (Color.alpha(bitmap.getPixel(i, y)) > 0) return i;
+    }
+
+    return bitmap.getWidth();
+  }
+}
@@ -7,6 +7,11 @@ import com.facebook.react.uimanager.ViewManager
 import java.util.ArrayList
 
 class FastSquircleViewPackage : ReactPackage {
+  init {
+    // Probes the RN internals and warms up the geometry code off the UI thread
+    SquircleWarmUp.start()
+  }
+
   override fun createViewManagers(reactContext: ReactApplicationContext): List<ViewManager<*, *>> {
     val viewManagers: MutableList<ViewManager<*, *>> = ArrayList()
     viewManagers.add(FastSquircleViewManager())
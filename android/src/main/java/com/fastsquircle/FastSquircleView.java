@@ -3,12 +3,12 @@ package com.fastsquircle;
 import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.LayerDrawable;
 import android.os.Build;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.OptIn;
+import androidx.annotation.RequiresApi;
 
 import com.facebook.react.common.annotations.UnstableReactNativeAPI;
 import com.facebook.react.uimanager.drawable.BackgroundDrawable;
@@ -18,16 +18,29 @@ import com.facebook.react.uimanager.drawable.OutlineDrawable;
 import com.facebook.react.uimanager.drawable.OutsetBoxShadowDrawable;
 import com.facebook.react.uimanager.style.Overflow;
 import com.facebook.react.views.view.ReactViewGroup;
+import com.fastsquircle.drawables.DirectSquircleBackgroundDrawable;
+import com.fastsquircle.drawables.DirectSquircleBorderDrawable;
+import com.fastsquircle.drawables.DirectSquircleStyle;
 import com.fastsquircle.drawables.SquircleBackgroundDrawable;
 import com.fastsquircle.drawables.SquircleBorderDrawable;
+import com.fastsquircle.drawables.SquircleCompositeDrawable;
 import com.fastsquircle.drawables.SquircleOutlineDrawable;
 import com.fastsquircle.drawables.SquircleOutsetShadowDrawable;
+import com.fastsquircle.drawables.SquircleRenderNodeDrawable;
+import com.fastsquircle.utils.SquircleGeometryCache;
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.stream.Collectors;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class FastSquircleView extends ReactViewGroup {
 
+  private static final boolean USE_RENDER_NODES = Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q;
+
   private float cornerSmoothing = 0.0f;
 
   private SquircleBackgroundDrawable squircleBackgroundDrawable;
@@ -35,6 +48,36 @@ public class FastSquircleView extends ReactViewGroup {
 
   private SquircleOutlineDrawable squircleOutlineDrawable;
 
+  // Reflection free background and border, used instead of the wrappers above when enabled
+  private boolean directDrawing = false;
+  private final DirectSquircleStyle directStyle = new DirectSquircleStyle();
+  private DirectSquircleBackgroundDrawable directBackgroundDrawable;
+  private DirectSquircleBorderDrawable directBorderDrawable;
+  private boolean directLayersInstalled;
+  // Set whenever the composite background is replaced or invalidated, the direct style is read again on the next draw
+  private boolean directStyleDirty = true;
+  private boolean squircleLayersInstalled;
+  // Set when the composite background is invalidated in place, its style may have become a squircle style
+  private boolean squircleStyleDirty = true;
+
+  // Geometry of the view shared by all squircle layers, each layer derives its own variant from it
+  private final SquircleLayerGeometry layerGeometry = new SquircleLayerGeometry();
+  // Set whenever an input of the layer geometry may have changed, see updateLayerGeometry
+  private boolean layerGeometryDirty = true;
+  private int layerGeometryClearCount = -1;
+
+  // Shadow wrappers keyed by the React Native shadow they wrap, see getSquircleOuterShadows
+  private Map<OutsetBoxShadowDrawable, SquircleOutsetShadowDrawable> squircleShadowDrawables = new HashMap<>();
+  private Map<OutsetBoxShadowDrawable, SquircleOutsetShadowDrawable> previousSquircleShadowDrawables = new HashMap<>();
+
+  // Runs of contiguous layers drawn together, and the render nodes recording each run
+  private final List<SquircleCompositeDrawable> squircleCompositeDrawables = new ArrayList<>();
+  private final List<SquircleRenderNodeDrawable> renderNodeDrawables = new ArrayList<>();
+
+  // Composite background the layers are installed in, with its layers as created by React Native
+  private CompositeBackgroundDrawable installedBackground;
+  private Drawable[] originalLayers;
+
   private final SquircleCSSBackgroundManager cssBackgroundManager = new SquircleCSSBackgroundManager();
   private final SquircleBackgroundImageManager backgroundImageManager = new SquircleBackgroundImageManager();
 
@@ -42,11 +85,16 @@ public class FastSquircleView extends ReactViewGroup {
   public FastSquircleView(@Nullable Context context) {
     super(context);
 
+    // Only needed to inject the squircle CSS background, otherwise React Native creates the composite
+    // background itself once a background style is set
+    var cssBackground = cssBackgroundManager.getCSSBackground(getContext());
+    if (cssBackground == null) return;
+
     setBackground(new CompositeBackgroundDrawable(
       getContext(),
       getBackground(),
       Collections.emptyList(),
-      cssBackgroundManager.getCSSBackground(getContext()),
+      cssBackground,
       null,
       null,
       null,
@@ -59,136 +107,390 @@ public class FastSquircleView extends ReactViewGroup {
 
   @Override
   public void setBackground(Drawable background) {
-    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.P) {
+    // Also called by the ReactViewGroup constructor, before the fields of this class are initialized
+    if (this.backgroundImageManager == null || !SquircleCompatibility.isSquircleEnabled()) {
       super.setBackground(background);
       return;
     }
 
-    if (!(background instanceof CompositeBackgroundDrawable compositeBackground)) {
+    if (!(background instanceof CompositeBackgroundDrawable compositeBackground) || !hasSquircleStyle(compositeBackground)) {
+      // Drawn exactly like a ReactViewGroup until a squircle style shows up, see draw
+      this.squircleLayersInstalled = false;
+      this.directLayersInstalled = false;
+      this.squircleStyleDirty = false;
       super.setBackground(background);
       return;
     }
 
-    if (compositeBackground.getOuterShadows().isEmpty()) {
-      super.setBackground(background);
-      return;
+    var newBackground = compositeBackground;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P && !compositeBackground.getOuterShadows().isEmpty()) {
+      newBackground = compositeBackground.withNewShadows(
+        getSquircleOuterShadows(compositeBackground.getOuterShadows()),
+        compositeBackground.getInnerShadows()
+      );
     }
 
-    var enhancedOutsetShadows = compositeBackground.getOuterShadows().stream().map(s -> {
-      if (s instanceof OutsetBoxShadowDrawable) {
-        return new SquircleOutsetShadowDrawable((OutsetBoxShadowDrawable) s, this.cornerSmoothing);
-      }
-
-      return s;
-    }).collect(Collectors.toList());
-
-    var newBackground = compositeBackground.withNewShadows(enhancedOutsetShadows, compositeBackground.getInnerShadows());
+    installSquircleLayers(newBackground);
 
     super.setBackground(newBackground);
   }
 
-  @Override
-  public void draw(@NonNull Canvas canvas) {
-    var background = getBackground();
-    if (!(background instanceof LayerDrawable layerDrawable)) {
-      super.draw(canvas);
-      return;
+  /**
+   * Replaces the React Native layers of {@code compositeBackground} with their squircle counterparts.
+   * React Native updates a composite background by building a new one and passing it to
+   * setBackground, so the layers only have to be replaced there and draw doesn't touch them.
+   * <p>
+   * Contiguous replaced layers are drawn by a single {@link SquircleCompositeDrawable} reading the
+   * geometry of the view, which takes the slot of the first of them while the others are emptied.
+   */
+  private void installSquircleLayers(CompositeBackgroundDrawable compositeBackground) {
+    var useDirectDrawing = this.directDrawing && this.directStyle.isSupported();
+    var originalLayers = getOriginalLayers(compositeBackground);
+
+    var replacements = new Drawable[originalLayers.length];
+    for (int i = 0; i < originalLayers.length; i++) {
+      replacements[i] = getLayerReplacement(originalLayers[i], useDirectDrawing);
     }
 
-    var backgroundImageDrawManager = this.backgroundImageManager.getDrawManager();
+    int runIndex = 0;
+    for (int start = 0; start < originalLayers.length; start++) {
+      if (replacements[start] == null) continue;
 
-    int backgroundDrawableIndex = -1;
-    int borderDrawableIndex = -1;
-    int outlineDrawableIndex = -1;
-    for (int i = 0; i < layerDrawable.getNumberOfLayers(); i++) {
-      var layer = layerDrawable.getDrawable(i);
+      int end = start + 1;
+      while (end < originalLayers.length && replacements[end] != null) end++;
 
-      if (backgroundDrawableIndex < 0 && layer instanceof BackgroundDrawable) {
-        backgroundDrawableIndex = i;
-      }
+      var squircleComposite = getSquircleCompositeDrawable(runIndex);
+      squircleComposite.setLayers(Arrays.asList(replacements).subList(start, end));
 
-      if (borderDrawableIndex < 0 && layer instanceof BorderDrawable) {
-        borderDrawableIndex = i;
+      SquircleRenderNodeDrawable renderNodeDrawable = null;
+      if (USE_RENDER_NODES) {
+        renderNodeDrawable = getRenderNodeDrawable(runIndex, squircleComposite);
+        renderNodeDrawable.setHost(compositeBackground);
+      }
+      runIndex++;
+
+      Drawable installed = renderNodeDrawable != null ? renderNodeDrawable : squircleComposite;
+      compositeBackground.setDrawable(start, installed);
+      // LayerDrawable only passes the layout direction on when it changes
+      installed.setLayoutDirection(compositeBackground.getLayoutDirection());
+      for (int i = start + 1; i < end; i++) {
+        compositeBackground.setDrawable(i, null);
       }
 
-      if (outlineDrawableIndex < 0 && layer instanceof OutlineDrawable) {
-        outlineDrawableIndex = i;
+      // setDrawable detaches the replaced layers, React Native keeps updating them so their invalidations still have to reach the view
+      for (int i = start; i < end; i++) {
+        originalLayers[i].setCallback(squircleComposite);
+      }
+      if (renderNodeDrawable != null) {
+        squircleComposite.setCallback(renderNodeDrawable);
       }
 
-      backgroundImageDrawManager.checkLayer(layer, i);
+      start = end - 1;
     }
 
-    BackgroundDrawable backgroundDrawable = null;
-    if (backgroundDrawableIndex >= 0) {
-      backgroundDrawable = (BackgroundDrawable) layerDrawable.getDrawable(backgroundDrawableIndex);
-      if (this.squircleBackgroundDrawable == null) {
-        this.squircleBackgroundDrawable = new SquircleBackgroundDrawable(backgroundDrawable, this.cornerSmoothing);
-      } else {
-        this.squircleBackgroundDrawable.setBase(backgroundDrawable);
+    this.squircleLayersInstalled = true;
+    this.directLayersInstalled = useDirectDrawing;
+    this.directStyleDirty = true;
+    this.layerGeometryDirty = true;
+  }
+
+  /**
+   * Wraps the outset shadows of React Native, reusing the wrappers of shadows that were already
+   * wrapped for a previous background. React Native keeps its shadow drawables while only other
+   * styles change, e.g. on pressed states, so their cached paths survive those updates.
+   */
+  @RequiresApi(Build.VERSION_CODES.P)
+  private List<Drawable> getSquircleOuterShadows(List<Drawable> outerShadows) {
+    // Swapped so that wrappers of shadows that are gone are dropped without allocating a new map
+    var previousShadowDrawables = this.squircleShadowDrawables;
+    this.squircleShadowDrawables = this.previousSquircleShadowDrawables;
+    this.previousSquircleShadowDrawables = previousShadowDrawables;
+
+    var shadowDrawables = new ArrayList<Drawable>(outerShadows.size());
+    for (var shadow : outerShadows) {
+      // React Native copies the shadows of the current background, which are already wrapped
+      if (shadow instanceof SquircleOutsetShadowDrawable squircleShadow) {
+        this.squircleShadowDrawables.put(squircleShadow.getBase(), squircleShadow);
+        shadowDrawables.add(squircleShadow);
+        continue;
+      }
+
+      if (!(shadow instanceof OutsetBoxShadowDrawable outsetShadow)) {
+        shadowDrawables.add(shadow);
+        continue;
+      }
+
+      var squircleShadow = previousShadowDrawables.get(outsetShadow);
+      if (squircleShadow == null) {
+        squircleShadow = new SquircleOutsetShadowDrawable(outsetShadow, this.layerGeometry);
       }
+
+      this.squircleShadowDrawables.put(outsetShadow, squircleShadow);
+      shadowDrawables.add(squircleShadow);
     }
 
+    previousShadowDrawables.clear();
+    return shadowDrawables;
+  }
 
-    BorderDrawable borderDrawable = null;
-    if (borderDrawableIndex >= 0) {
-      borderDrawable = (BorderDrawable) layerDrawable.getDrawable(borderDrawableIndex);
+  // Without border radii or outer shadows there is nothing to smooth
+  private boolean hasSquircleStyle(CompositeBackgroundDrawable compositeBackground) {
+    var borderRadius = this.cssBackgroundManager.getBorderRadius(compositeBackground);
+    return (borderRadius != null && borderRadius.hasRoundedBorders())
+      || !compositeBackground.getOuterShadows().isEmpty();
+  }
 
-      if (this.squircleBorderDrawable == null) {
-        this.squircleBorderDrawable = new SquircleBorderDrawable(borderDrawable, this.cornerSmoothing);
-      } else {
-        this.squircleBorderDrawable.setBase(borderDrawable);
-      }
+  // Layers as created by React Native, remembered since installSquircleLayers replaces them in place
+  private Drawable[] getOriginalLayers(CompositeBackgroundDrawable compositeBackground) {
+    if (compositeBackground == this.installedBackground) {
+      return this.originalLayers;
     }
 
-    OutlineDrawable outlineDrawable = null;
-    if (outlineDrawableIndex >= 0) {
-      outlineDrawable = (OutlineDrawable) layerDrawable.getDrawable(outlineDrawableIndex);
+    var layers = new Drawable[compositeBackground.getNumberOfLayers()];
+    for (int i = 0; i < layers.length; i++) {
+      layers[i] = compositeBackground.getDrawable(i);
+    }
 
-      if (this.squircleOutlineDrawable == null) {
-        this.squircleOutlineDrawable = new SquircleOutlineDrawable(outlineDrawable, this.cornerSmoothing);
-      } else {
-        this.squircleOutlineDrawable.setBase(outlineDrawable);
-      }
+    this.installedBackground = compositeBackground;
+    this.originalLayers = layers;
+    return layers;
+  }
+
+  @Nullable
+  private Drawable getLayerReplacement(@Nullable Drawable layer, boolean useDirectDrawing) {
+    if (layer instanceof BackgroundDrawable backgroundDrawable) {
+      return useDirectDrawing ? getDirectBackgroundDrawable() : getSquircleBackgroundDrawable(backgroundDrawable);
     }
 
-    if (backgroundDrawableIndex >= 0) layerDrawable.setDrawable(backgroundDrawableIndex, this.squircleBackgroundDrawable);
-    if (borderDrawableIndex >= 0) layerDrawable.setDrawable(borderDrawableIndex, this.squircleBorderDrawable);
-    if (outlineDrawableIndex >= 0) layerDrawable.setDrawable(outlineDrawableIndex, this.squircleOutlineDrawable);
+    if (layer instanceof BorderDrawable borderDrawable) {
+      return useDirectDrawing ? getDirectBorderDrawable() : getSquircleBorderDrawable(borderDrawable);
+    }
 
-    backgroundImageDrawManager.beforeDraw(layerDrawable);
+    if (layer instanceof OutlineDrawable outlineDrawable) {
+      return getSquircleOutlineDrawable(outlineDrawable);
+    }
 
-    super.draw(canvas);
+    return this.backgroundImageManager.getLayerReplacement(layer, this.layerGeometry);
+  }
 
-    if (backgroundDrawableIndex >= 0) layerDrawable.setDrawable(backgroundDrawableIndex, backgroundDrawable);
-    if (borderDrawableIndex >= 0) layerDrawable.setDrawable(borderDrawableIndex, borderDrawable);
-    if (outlineDrawableIndex >= 0) layerDrawable.setDrawable(outlineDrawableIndex, outlineDrawable);
+  private SquircleCompositeDrawable getSquircleCompositeDrawable(int index) {
+    if (index < this.squircleCompositeDrawables.size()) {
+      return this.squircleCompositeDrawables.get(index);
+    }
 
-    backgroundImageDrawManager.afterDraw(layerDrawable);
+    var squircleComposite = new SquircleCompositeDrawable(this.layerGeometry);
+    this.squircleCompositeDrawables.add(squircleComposite);
+    return squircleComposite;
   }
 
-  @OptIn(markerClass = UnstableReactNativeAPI.class)
-  public void setCornerSmoothing(float cornerSmoothing) {
-    this.cornerSmoothing = cornerSmoothing;
+  private SquircleBackgroundDrawable getSquircleBackgroundDrawable(BackgroundDrawable backgroundDrawable) {
+    if (this.squircleBackgroundDrawable == null) {
+      this.squircleBackgroundDrawable = new SquircleBackgroundDrawable(backgroundDrawable, this.layerGeometry);
+    } else {
+      this.squircleBackgroundDrawable.setBase(backgroundDrawable);
+    }
+
+    return this.squircleBackgroundDrawable;
+  }
+
+  private SquircleBorderDrawable getSquircleBorderDrawable(BorderDrawable borderDrawable) {
+    if (this.squircleBorderDrawable == null) {
+      this.squircleBorderDrawable = new SquircleBorderDrawable(borderDrawable, this.layerGeometry);
+    } else {
+      this.squircleBorderDrawable.setBase(borderDrawable);
+    }
+
+    return this.squircleBorderDrawable;
+  }
+
+  private SquircleOutlineDrawable getSquircleOutlineDrawable(OutlineDrawable outlineDrawable) {
+    if (this.squircleOutlineDrawable == null) {
+      this.squircleOutlineDrawable = new SquircleOutlineDrawable(outlineDrawable, this.layerGeometry);
+    } else {
+      this.squircleOutlineDrawable.setBase(outlineDrawable);
+    }
+
+    return this.squircleOutlineDrawable;
+  }
+
+  @RequiresApi(Build.VERSION_CODES.Q)
+  private SquircleRenderNodeDrawable getRenderNodeDrawable(int index, Drawable content) {
+    if (index >= this.renderNodeDrawables.size()) {
+      var renderNodeDrawable = new SquircleRenderNodeDrawable(content);
+      this.renderNodeDrawables.add(renderNodeDrawable);
+      return renderNodeDrawable;
+    }
+
+    var renderNodeDrawable = this.renderNodeDrawables.get(index);
+    if (renderNodeDrawable.getContent() != content) {
+      renderNodeDrawable.setContent(content);
+    } else {
+      renderNodeDrawable.invalidateCache();
+    }
+
+    return renderNodeDrawable;
+  }
+
+  // Makes the render nodes record their layers again on the next draw
+  private void invalidateRenderNodes() {
+    if (!USE_RENDER_NODES) return;
+
+    for (var renderNodeDrawable : this.renderNodeDrawables) {
+      renderNodeDrawable.invalidateCache();
+    }
+  }
+
+  private DirectSquircleBackgroundDrawable getDirectBackgroundDrawable() {
+    if (this.directBackgroundDrawable == null) {
+      this.directBackgroundDrawable = new DirectSquircleBackgroundDrawable(this.directStyle, this.layerGeometry);
+    }
+
+    return this.directBackgroundDrawable;
+  }
 
-    if (this.squircleBackgroundDrawable != null) {
-      this.squircleBackgroundDrawable.setCornerSmoothing(cornerSmoothing);
+  private DirectSquircleBorderDrawable getDirectBorderDrawable() {
+    if (this.directBorderDrawable == null) {
+      this.directBorderDrawable = new DirectSquircleBorderDrawable(this.directStyle, this.layerGeometry);
     }
 
-    if (this.squircleBorderDrawable != null) {
-      this.squircleBorderDrawable.setCornerSmoothing(cornerSmoothing);
+    return this.directBorderDrawable;
+  }
+
+  // Resolves the geometry shared by the layers, recording them again when it changed. Skipped unless
+  // an input changed or the cached geometries were cleared, e.g. by a new quantization step.
+  private void updateLayerGeometry(CompositeBackgroundDrawable compositeBackground) {
+    var clearCount = SquircleGeometryCache.getClearCount();
+    if (!this.layerGeometryDirty && clearCount == this.layerGeometryClearCount) return;
+
+    this.layerGeometryDirty = false;
+    this.layerGeometryClearCount = clearCount;
+
+    // The view sets the bounds of its background only once drawing it, they would lag a frame behind
+    var changed = this.layerGeometry.update(
+      this.cssBackgroundManager.getBorderRadius(compositeBackground),
+      getLayoutDirection(),
+      getContext(),
+      getWidth(),
+      getHeight(),
+      this.cornerSmoothing
+    );
+
+    if (changed) {
+      invalidateRenderNodes();
+    }
+  }
+
+  // Installs the layers again after a change of the direct drawing choice
+  private void reinstallSquircleLayers() {
+    if (!this.squircleLayersInstalled) return;
+    if (!(getBackground() instanceof CompositeBackgroundDrawable compositeBackground)) return;
+    if (!SquircleCompatibility.isSquircleEnabled()) return;
+
+    installSquircleLayers(compositeBackground);
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    // React Native sets border radii on the current composite background without calling setBackground,
+    // only invalidating it, so its style is only checked again after an invalidation
+    if (!this.squircleLayersInstalled && this.squircleStyleDirty) {
+      this.squircleStyleDirty = false;
+
+      if (getBackground() instanceof CompositeBackgroundDrawable compositeBackground
+        && hasSquircleStyle(compositeBackground)
+        && SquircleCompatibility.isSquircleEnabled()) {
+        installSquircleLayers(compositeBackground);
+      }
+    }
+
+    if (this.squircleLayersInstalled && getBackground() instanceof CompositeBackgroundDrawable compositeBackground) {
+      updateLayerGeometry(compositeBackground);
+    }
+
+    // The direct drawables read their style back from the view, the layers themselves are already installed
+    if (this.directLayersInstalled && this.directStyleDirty) {
+      this.directStyle.update(this);
+      this.directStyleDirty = false;
+    }
+
+    super.draw(canvas);
+  }
+
+  @Override
+  public void invalidateDrawable(@NonNull Drawable drawable) {
+    // React Native mutates the composite background in place, e.g. for border radii, and only invalidates the composite
+    if (drawable == getBackground()) {
+      invalidateRenderNodes();
+      this.directStyleDirty = true;
+      this.squircleStyleDirty = true;
+      this.layerGeometryDirty = true;
     }
 
-    if (this.squircleOutlineDrawable != null) {
-      this.squircleOutlineDrawable.setCornerSmoothing(cornerSmoothing);
+    super.invalidateDrawable(drawable);
+  }
+
+  @Override
+  public void onRtlPropertiesChanged(int layoutDirection) {
+    super.onRtlPropertiesChanged(layoutDirection);
+
+    // Logical border edges and radii resolve to other physical ones
+    this.directStyleDirty = true;
+    this.layerGeometryDirty = true;
+  }
+
+  @Override
+  protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+    super.onSizeChanged(w, h, oldw, oldh);
+
+    this.layerGeometryDirty = true;
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    super.onDetachedFromWindow();
+
+    if (!USE_RENDER_NODES) return;
+
+    for (var renderNodeDrawable : this.renderNodeDrawables) {
+      renderNodeDrawable.discardCache();
     }
+  }
+
+  @OptIn(markerClass = UnstableReactNativeAPI.class)
+  public void setCornerSmoothing(float cornerSmoothing) {
+    this.cornerSmoothing = cornerSmoothing;
+    this.layerGeometryDirty = true;
+
+    invalidateRenderNodes();
 
     this.cssBackgroundManager.setCornerSmoothing(getBackground(), cornerSmoothing);
-    this.backgroundImageManager.setCornerSmoothing(cornerSmoothing);
 
     invalidate();
     invalidateOutline();
   }
 
+  /**
+   * Draws background and solid borders from the public style APIs instead of the reflection based
+   * wrappers, views with other border styles keep using the wrappers.
+   */
+  public void setDirectDrawing(boolean directDrawing) {
+    this.directDrawing = directDrawing;
+    reinstallSquircleLayers();
+
+    invalidate();
+  }
+
+  @Override
+  public void setBorderStyle(@Nullable String style) {
+    super.setBorderStyle(style);
+
+    var wasSupported = this.directStyle.isSupported();
+    this.directStyle.setBorderStyle(style);
+    if (this.directDrawing && wasSupported != this.directStyle.isSupported()) {
+      reinstallSquircleLayers();
+    }
+  }
+
   @OptIn(markerClass = UnstableReactNativeAPI.class)
   @Override
   protected void dispatchDraw(Canvas canvas) {
@@ -210,7 +512,8 @@ public class FastSquircleView extends ReactViewGroup {
       return;
     }
 
-    this.cssBackgroundManager.dispatchDraw(canvas, compositeBackground);
+    updateLayerGeometry(compositeBackground);
+    this.cssBackgroundManager.dispatchDraw(canvas, compositeBackground, this.layerGeometry);
     super.dispatchDraw(canvas);
   }
 }
@@ -33,6 +33,10 @@ class FastSquircleViewManager : ReactViewManager(),
     view?.setCornerSmoothing(value);
   }
 
+  override fun setDirectDrawing(view: FastSquircleView?, value: Boolean) {
+    view?.setDirectDrawing(value)
+  }
+
   override fun getDelegate(): ViewManagerDelegate<ReactViewGroup> {
     return delegate
   }
@@ -58,6 +62,10 @@ class ViewManagerWrapper(private val baseVm: FastSquircleViewManager) :
     baseVm.setCornerSmoothing(view, value)
   }
 
+  override fun setDirectDrawing(view: FastSquircleView?, value: Boolean) {
+    baseVm.setDirectDrawing(view, value)
+  }
+
 }
 
 class SplitDelegate(
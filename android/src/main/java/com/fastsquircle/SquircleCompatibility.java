@@ -0,0 +1,71 @@
+package com.fastsquircle;
+
+import android.util.Log;
+
+import com.fastsquircle.accessors.GeneratedAccessors;
+import com.fastsquircle.drawables.SquircleBackgroundDrawable;
+import com.fastsquircle.drawables.SquircleBorderDrawable;
+import com.fastsquircle.drawables.SquircleOutlineDrawable;
+import com.fastsquircle.drawables.SquircleOutsetShadowDrawable;
+import com.fastsquircle.utils.ReflectionRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * One time probe of the React Native internals the squircle drawables rely on, run by
+ * {@link SquircleWarmUp} when the package is created or lazily by the first view that needs it.
+ * <p>
+ * Members missing from the React Native version we compile against already fail the build, see the
+ * accessor generation in build.gradle. Loading the drawable and accessor classes registers the members
+ * still reached through reflection. If any of them can't be resolved at runtime (e.g. stripped by
+ * R8) the whole process falls back to a pass-through mode where views draw exactly like a plain
+ * ReactViewGroup, instead of failing on every frame.
+ */
+public class SquircleCompatibility {
+
+  private static final String TAG = "FastSquircle";
+
+  private static volatile boolean probed = false;
+  private static volatile boolean squircleEnabled = false;
+
+  public static synchronized void probe() {
+    if (probed) return;
+
+    var drawableClasses = new ArrayList<Class<?>>(Arrays.asList(
+      SquircleBackgroundDrawable.class,
+      SquircleBorderDrawable.class,
+      SquircleOutlineDrawable.class,
+      SquircleOutsetShadowDrawable.class
+    ));
+    drawableClasses.addAll(SquircleBackgroundImageManager.getDrawableClasses());
+    drawableClasses.addAll(GeneratedAccessors.getAccessorClasses());
+
+    var missing = new ArrayList<String>();
+    for (var drawableClass : drawableClasses) {
+      try {
+        // Initializing the class resolves its reflection handles, the generated accessors hold them
+        Class.forName(drawableClass.getName(), true, drawableClass.getClassLoader());
+      } catch (ClassNotFoundException | LinkageError e) {
+        missing.add(drawableClass.getName() + " (" + e + ")");
+      }
+    }
+    missing.addAll(ReflectionRegistry.getUnresolvedMembers());
+
+    squircleEnabled = missing.isEmpty();
+    probed = true;
+
+    if (!squircleEnabled) {
+      Log.w(TAG, "Unsupported React Native internals, squircles are disabled: " + missing);
+    }
+  }
+
+  /**
+   * Whether the squircle drawables can be used, false means views must draw as plain React Native views.
+   */
+  public static boolean isSquircleEnabled() {
+    if (!probed) probe();
+
+    return squircleEnabled;
+  }
+}
@@ -0,0 +1,85 @@
+package com.fastsquircle;
+
+import android.graphics.Path;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.fastsquircle.utils.SquircleGeometry;
+import com.fastsquircle.utils.SquirclePathCalculator;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background warm-up started with the package, so the first FastSquircleView frame doesn't pay for
+ * loading the drawable classes, resolving the reflected members and running the geometry code cold.
+ * <p>
+ * The UI thread only ever waits for the probe part: a view drawing while it is still running blocks
+ * on {@link SquircleCompatibility#probe()}, a view drawing before it starts simply runs it itself.
+ */
+public class SquircleWarmUp {
+
+  private static final String TAG = "FastSquircle";
+
+  private static final float[] SIZES = { 48f, 120f, 343.5f, 600f };
+  private static final float[] RADII = { 4f, 12f, 24f, 64f };
+  private static final float[] SMOOTHINGS = { 0.6f, 1f };
+
+  private static final AtomicBoolean started = new AtomicBoolean(false);
+
+  private static volatile long probeDurationMs = -1;
+  private static volatile long geometryDurationMs = -1;
+
+  public static void start() {
+    if (!started.compareAndSet(false, true)) return;
+
+    var thread = new Thread(SquircleWarmUp::run, "FastSquircleWarmUp");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  private static void run() {
+    Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+
+    long start = SystemClock.elapsedRealtime();
+    SquircleCompatibility.probe();
+    probeDurationMs = SystemClock.elapsedRealtime() - start;
+
+    start = SystemClock.elapsedRealtime();
+    warmUpGeometry();
+    geometryDurationMs = SystemClock.elapsedRealtime() - start;
+
+    Log.i(TAG, "Warm-up done, classes and reflection " + probeDurationMs + "ms, geometry " + geometryDurationMs + "ms");
+  }
+
+  // Pixel based API only, the DIP based one needs the display metrics which may not be ready yet
+  private static void warmUpGeometry() {
+    var geometry = new SquircleGeometry();
+    var path = new Path();
+
+    for (float size : SIZES) {
+      for (float radius : RADII) {
+        for (float smoothing : SMOOTHINGS) {
+          SquirclePathCalculator.getGeometry(radius, radius, radius, radius, size, size * 0.75f, smoothing, geometry);
+          geometry.replayInto(path);
+
+          SquirclePathCalculator.getPath(radius, radius / 2f, 0f, radius, size, size, smoothing, path);
+        }
+      }
+    }
+  }
+
+  /**
+   * Time spent loading the drawable classes and resolving their reflected members, -1 until done.
+   */
+  public static long getProbeDurationMs() {
+    return probeDurationMs;
+  }
+
+  /**
+   * Time spent exercising the geometry code, -1 until done.
+   */
+  public static long getGeometryDurationMs() {
+    return geometryDurationMs;
+  }
+}
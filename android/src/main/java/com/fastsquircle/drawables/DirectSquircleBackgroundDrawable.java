@@ -0,0 +1,97 @@
+package com.fastsquircle.drawables;
+
+import static com.facebook.drawee.drawable.DrawableUtils.multiplyColorAlpha;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.fastsquircle.utils.SquircleLayerGeometry;
+
+/**
+ * Reflection free replacement of {@link SquircleBackgroundDrawable}, filling the background color
+ * described by a {@link DirectSquircleStyle} with the squircle of the {@link SquircleLayerGeometry}.
+ */
+public class DirectSquircleBackgroundDrawable extends Drawable implements SquircleGeometryLayer {
+
+  private static final RectF NO_INSETS = new RectF();
+
+  private final DirectSquircleStyle style;
+  private final SquircleLayerGeometry layerGeometry;
+
+  private final Paint backgroundPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private int alpha = 255;
+
+  // Rounded rect drawn when the geometry has no squircle path, see SquircleLayerGeometry.getPath
+  private final Path roundRectPath = new Path();
+  private int roundRectGeneration = -1;
+
+  public DirectSquircleBackgroundDrawable(DirectSquircleStyle style, SquircleLayerGeometry layerGeometry) {
+    this.style = style;
+    this.layerGeometry = layerGeometry;
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    draw(canvas, layerGeometry);
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas, @NonNull SquircleLayerGeometry geometry) {
+    int color = multiplyColorAlpha(style.getBackgroundColor(), alpha);
+    if (Color.alpha(color) == 0) return;
+
+    backgroundPaint.setColor(color);
+
+    if (!geometry.hasRoundedCorners()) {
+      canvas.drawRect(getBounds(), backgroundPaint);
+      return;
+    }
+
+    var squirclePath = geometry.getPath();
+    if (squirclePath != null) {
+      squirclePath.draw(canvas, backgroundPaint);
+    } else {
+      canvas.drawPath(getRoundRectPath(geometry), backgroundPaint);
+    }
+  }
+
+  private Path getRoundRectPath(SquircleLayerGeometry geometry) {
+    if (roundRectGeneration != geometry.getGeneration()) {
+      geometry.getInsetPath(NO_INSETS, roundRectPath);
+      roundRectGeneration = geometry.getGeneration();
+    }
+
+    return roundRectPath;
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    this.alpha = alpha;
+    invalidateSelf();
+  }
+
+  @Override
+  public int getAlpha() {
+    return alpha;
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    backgroundPaint.setColorFilter(colorFilter);
+    invalidateSelf();
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+}
@@ -0,0 +1,166 @@
+package com.fastsquircle.drawables;
+
+import static com.facebook.drawee.drawable.DrawableUtils.multiplyColorAlpha;
+
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.PixelFormat;
+import android.graphics.RectF;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.fastsquircle.utils.SquircleLayerGeometry;
+
+/**
+ * Reflection free replacement of {@link SquircleBorderDrawable} for solid borders described by a
+ * {@link DirectSquircleStyle}, following the squircle of the {@link SquircleLayerGeometry}.
+ */
+public class DirectSquircleBorderDrawable extends Drawable implements SquircleGeometryLayer {
+
+  private final DirectSquircleStyle style;
+  private final SquircleLayerGeometry layerGeometry;
+
+  private final Paint borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private int alpha = 255;
+
+  private final RectF innerRect = new RectF();
+  private final RectF pathInsets = new RectF();
+
+  private final Path outerPath = new Path();
+  private final Path innerPath = new Path();
+  private final Path centerPath = new Path();
+  private final Path ringPath = new Path();
+  private final Path edgePath = new Path();
+
+  // The paths only depend on the geometry, which covers bounds, radii and smoothing, and the widths
+  private int pathGeneration = -1;
+  private final RectF pathBorderWidth = new RectF();
+
+  public DirectSquircleBorderDrawable(DirectSquircleStyle style, SquircleLayerGeometry layerGeometry) {
+    this.style = style;
+    this.layerGeometry = layerGeometry;
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    draw(canvas, layerGeometry);
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas, @NonNull SquircleLayerGeometry geometry) {
+    if (!style.hasBorder()) return;
+
+    float w = geometry.getWidth();
+    float h = geometry.getHeight();
+    var borderWidth = style.getBorderWidth();
+    updatePaths(geometry, borderWidth);
+
+    boolean uniformWidth = borderWidth.left == borderWidth.top
+      && borderWidth.left == borderWidth.right
+      && borderWidth.left == borderWidth.bottom;
+
+    if (uniformWidth && style.hasUniformBorderColor()) {
+      if (!setBorderColor(style.getBorderColorTop())) return;
+
+      borderPaint.setStyle(Paint.Style.STROKE);
+      borderPaint.setStrokeWidth(borderWidth.top);
+      canvas.drawPath(centerPath, borderPaint);
+      return;
+    }
+
+    borderPaint.setStyle(Paint.Style.FILL);
+
+    if (style.hasUniformBorderColor()) {
+      if (setBorderColor(style.getBorderColorTop())) {
+        canvas.drawPath(ringPath, borderPaint);
+      }
+      return;
+    }
+
+    // Each edge owns the quadrilateral between its outer and inner corners
+    drawEdge(canvas, style.getBorderColorLeft(),
+      0f, 0f, innerRect.left, innerRect.top, innerRect.left, innerRect.bottom, 0f, h);
+    drawEdge(canvas, style.getBorderColorTop(),
+      0f, 0f, w, 0f, innerRect.right, innerRect.top, innerRect.left, innerRect.top);
+    drawEdge(canvas, style.getBorderColorRight(),
+      w, 0f, w, h, innerRect.right, innerRect.bottom, innerRect.right, innerRect.top);
+    drawEdge(canvas, style.getBorderColorBottom(),
+      0f, h, innerRect.left, innerRect.bottom, innerRect.right, innerRect.bottom, w, h);
+  }
+
+  private void updatePaths(SquircleLayerGeometry geometry, RectF borderWidth) {
+    if (pathGeneration == geometry.getGeneration() && pathBorderWidth.equals(borderWidth)) return;
+
+    float w = geometry.getWidth();
+    float h = geometry.getHeight();
+    innerRect.set(borderWidth.left, borderWidth.top, w - borderWidth.right, h - borderWidth.bottom);
+
+    // Outer, inner and center paths are respectively inset by 0, 1 and 0.5 times the border width
+    pathInsets.setEmpty();
+    geometry.getInsetPath(pathInsets, outerPath);
+    geometry.getInsetPath(borderWidth, innerPath);
+    pathInsets.set(borderWidth.left / 2f, borderWidth.top / 2f, borderWidth.right / 2f, borderWidth.bottom / 2f);
+    geometry.getInsetPath(pathInsets, centerPath);
+
+    // The border is the area between the outer and the inner path
+    ringPath.rewind();
+    ringPath.setFillType(Path.FillType.EVEN_ODD);
+    ringPath.addPath(outerPath);
+    ringPath.addPath(innerPath);
+
+    pathGeneration = geometry.getGeneration();
+    pathBorderWidth.set(borderWidth);
+  }
+
+  private void drawEdge(Canvas canvas, int color,
+                        float x1, float y1, float x2, float y2,
+                        float x3, float y3, float x4, float y4) {
+    if (!setBorderColor(color)) return;
+
+    edgePath.rewind();
+    edgePath.moveTo(x1, y1);
+    edgePath.lineTo(x2, y2);
+    edgePath.lineTo(x3, y3);
+    edgePath.lineTo(x4, y4);
+    edgePath.close();
+
+    canvas.save();
+    canvas.clipPath(edgePath);
+    canvas.drawPath(ringPath, borderPaint);
+    canvas.restore();
+  }
+
+  // Returns false when the resulting color is fully transparent and nothing has to be drawn
+  private boolean setBorderColor(int color) {
+    int borderColor = multiplyColorAlpha(color, alpha);
+    borderPaint.setColor(borderColor);
+    return Color.alpha(borderColor) != 0;
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    this.alpha = alpha;
+    invalidateSelf();
+  }
+
+  @Override
+  public int getAlpha() {
+    return alpha;
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    borderPaint.setColorFilter(colorFilter);
+    invalidateSelf();
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+}
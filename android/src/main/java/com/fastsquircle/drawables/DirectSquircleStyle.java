@@ -0,0 +1,166 @@
+package com.fastsquircle.drawables;
+
+import android.content.Context;
+import android.graphics.Color;
+import android.graphics.RectF;
+import android.util.LayoutDirection;
+import android.view.View;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.modules.i18nmanager.I18nUtil;
+import com.facebook.react.uimanager.BackgroundStyleApplicator;
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.style.LogicalEdge;
+
+import java.util.function.Function;
+
+/**
+ * Background and border state of a view rebuilt only from public React Native style APIs, shared by
+ * {@link DirectSquircleBackgroundDrawable} and {@link DirectSquircleBorderDrawable}.
+ * <p>
+ * Values are read back through {@link BackgroundStyleApplicator} and resolved to physical edges the
+ * same way React Native does, so no private drawable state is needed. Only solid borders are
+ * supported, views using any other border style keep the reflection based drawables.
+ */
+public class DirectSquircleStyle {
+
+  // Logical edges checked in order for each physical edge, see BorderDrawable
+  private static final LogicalEdge[] TOP_EDGES = {
+    LogicalEdge.BLOCK_START, LogicalEdge.TOP, LogicalEdge.BLOCK, LogicalEdge.VERTICAL, LogicalEdge.ALL
+  };
+  private static final LogicalEdge[] BOTTOM_EDGES = {
+    LogicalEdge.BLOCK_END, LogicalEdge.BOTTOM, LogicalEdge.BLOCK, LogicalEdge.VERTICAL, LogicalEdge.ALL
+  };
+  private static final LogicalEdge[] START_LEFT_EDGES = {
+    LogicalEdge.START, LogicalEdge.LEFT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL
+  };
+  private static final LogicalEdge[] END_RIGHT_EDGES = {
+    LogicalEdge.END, LogicalEdge.RIGHT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL
+  };
+  private static final LogicalEdge[] END_LEFT_EDGES = {
+    LogicalEdge.END, LogicalEdge.LEFT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL
+  };
+  private static final LogicalEdge[] START_RIGHT_EDGES = {
+    LogicalEdge.START, LogicalEdge.RIGHT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL
+  };
+
+  private int backgroundColor = Color.TRANSPARENT;
+  private @Nullable String borderStyle = null;
+
+  // Border widths in pixels
+  private final RectF borderWidth = new RectF();
+  private int borderColorLeft = Color.BLACK;
+  private int borderColorTop = Color.BLACK;
+  private int borderColorRight = Color.BLACK;
+  private int borderColorBottom = Color.BLACK;
+
+  /**
+   * Border style as received by {@code ReactViewGroup.setBorderStyle}, null meaning solid.
+   */
+  public void setBorderStyle(@Nullable String borderStyle) {
+    this.borderStyle = borderStyle;
+  }
+
+  public boolean isSupported() {
+    return borderStyle == null || "solid".equals(borderStyle);
+  }
+
+  /**
+   * Reads the current style of {@code view}. Border radii are not part of it, the direct drawables
+   * take them from the {@link com.fastsquircle.utils.SquircleLayerGeometry} of the view.
+   */
+  public void update(View view) {
+    Context context = view.getContext();
+    int layoutDirection = view.getLayoutDirection();
+
+    Integer backgroundColor = BackgroundStyleApplicator.getBackgroundColor(view);
+    this.backgroundColor = backgroundColor != null ? backgroundColor : Color.TRANSPARENT;
+
+    boolean swapLeftAndRight = layoutDirection == LayoutDirection.RTL
+      && I18nUtil.getInstance().doLeftAndRightSwapInRTL(context);
+    LogicalEdge[] leftEdges = getLeftEdges(layoutDirection, swapLeftAndRight);
+    LogicalEdge[] rightEdges = getRightEdges(layoutDirection, swapLeftAndRight);
+
+    Function<LogicalEdge, Float> widths = edge -> BackgroundStyleApplicator.getBorderWidth(view, edge);
+    borderWidth.set(
+      PixelUtil.toPixelFromDIP(resolveWidth(widths, leftEdges)),
+      PixelUtil.toPixelFromDIP(resolveWidth(widths, TOP_EDGES)),
+      PixelUtil.toPixelFromDIP(resolveWidth(widths, rightEdges)),
+      PixelUtil.toPixelFromDIP(resolveWidth(widths, BOTTOM_EDGES))
+    );
+
+    Function<LogicalEdge, Integer> colors = edge -> BackgroundStyleApplicator.getBorderColor(view, edge);
+    borderColorLeft = resolveColor(colors, leftEdges);
+    borderColorTop = resolveColor(colors, TOP_EDGES);
+    borderColorRight = resolveColor(colors, rightEdges);
+    borderColorBottom = resolveColor(colors, BOTTOM_EDGES);
+  }
+
+  // Logical edges checked in order for the left edge
+  static LogicalEdge[] getLeftEdges(int layoutDirection, boolean swapLeftAndRight) {
+    if (layoutDirection != LayoutDirection.RTL) return START_LEFT_EDGES;
+    return swapLeftAndRight ? END_RIGHT_EDGES : END_LEFT_EDGES;
+  }
+
+  // Logical edges checked in order for the right edge
+  static LogicalEdge[] getRightEdges(int layoutDirection, boolean swapLeftAndRight) {
+    if (layoutDirection != LayoutDirection.RTL) return END_RIGHT_EDGES;
+    return swapLeftAndRight ? START_LEFT_EDGES : START_RIGHT_EDGES;
+  }
+
+  // Width in DIP of the first edge that is set, negative widths count as 0
+  static float resolveWidth(Function<LogicalEdge, Float> widths, LogicalEdge[] edges) {
+    for (var edge : edges) {
+      Float width = widths.apply(edge);
+      if (width != null && !width.isNaN()) {
+        return Math.max(width, 0f);
+      }
+    }
+
+    return 0f;
+  }
+
+  static int resolveColor(Function<LogicalEdge, Integer> colors, LogicalEdge[] edges) {
+    for (var edge : edges) {
+      Integer color = colors.apply(edge);
+      if (color != null) return color;
+    }
+
+    return Color.BLACK;
+  }
+
+  public int getBackgroundColor() {
+    return backgroundColor;
+  }
+
+  public RectF getBorderWidth() {
+    return borderWidth;
+  }
+
+  public boolean hasBorder() {
+    return borderWidth.left > 0 || borderWidth.top > 0 || borderWidth.right > 0 || borderWidth.bottom > 0;
+  }
+
+  public int getBorderColorLeft() {
+    return borderColorLeft;
+  }
+
+  public int getBorderColorTop() {
+    return borderColorTop;
+  }
+
+  public int getBorderColorRight() {
+    return borderColorRight;
+  }
+
+  public int getBorderColorBottom() {
+    return borderColorBottom;
+  }
+
+  public boolean hasUniformBorderColor() {
+    return borderColorLeft == borderColorTop
+      && borderColorLeft == borderColorRight
+      && borderColorLeft == borderColorBottom;
+  }
+}
@@ -3,26 +3,28 @@ package com.fastsquircle.drawables;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Rect;
-import android.graphics.RectF;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.facebook.react.uimanager.drawable.BackgroundDrawable;
-import com.facebook.react.uimanager.style.ComputedBorderRadius;
-import com.fastsquircle.utils.SquirclePathCalculator;
+import com.fastsquircle.accessors.BackgroundDrawableAccessors;
+import com.fastsquircle.utils.SharedSquirclePath;
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
-
-public class SquircleBackgroundDrawable extends ComposedDrawable {
+/**
+ * Fills the background with the squircle of the view, taken from the {@link SquircleLayerGeometry}
+ * it shares with the other layers.
+ */
+public class SquircleBackgroundDrawable extends ComposedDrawable implements SquircleGeometryLayer {
 
   private BackgroundDrawable base;
-  private float cornerSmoothing;
+  private final SquircleLayerGeometry layerGeometry;
 
-  public SquircleBackgroundDrawable(BackgroundDrawable base, float cornerSmoothing) {
+  public SquircleBackgroundDrawable(BackgroundDrawable base, SquircleLayerGeometry layerGeometry) {
     super(base);
     this.base = base;
-    this.cornerSmoothing = cornerSmoothing;
+    this.layerGeometry = layerGeometry;
   }
 
   public void setBase(BackgroundDrawable base) {
@@ -30,84 +32,31 @@ public class SquircleBackgroundDrawable extends ComposedDrawable {
     this.base = base;
   }
 
-  public void setCornerSmoothing(float cornerSmoothing) {
-    this.cornerSmoothing = cornerSmoothing;
-  }
-
   @Override
   public void draw(@NonNull Canvas canvas) {
-    updatePath();
-
-    var backgroundPaint = getBackgroundPaint();
-    var computedBorderRadius = getComputedBorderRadius();
-    var backgroundRect = getBackgroundRect();
+    draw(canvas, layerGeometry);
+  }
 
-    if (computedBorderRadius == null) {
-      base.draw(canvas);
-      return;
-    }
+  @Override
+  public void draw(@NonNull Canvas canvas, @NonNull SquircleLayerGeometry geometry) {
+    // Nothing reads the path of the base drawable, which updates it itself when drawing the plain fallback
+    drawPath(canvas, geometry.getPath());
+  }
 
-    if (computedBorderRadius.isUniform()
-      && computedBorderRadius.getTopLeft().getVertical() == 0
-      && computedBorderRadius.getTopLeft().getHorizontal() == 0) {
+  private void drawPath(Canvas canvas, @Nullable SharedSquirclePath squirclePath) {
+    if (squirclePath == null) {
       base.draw(canvas);
       return;
     }
 
-    canvas.save();
-
+    var backgroundPaint = getBackgroundPaint();
     if (backgroundPaint.getAlpha() != 0) {
-      var squirclePath = SquirclePathCalculator.getPath(
-        computedBorderRadius,
-        backgroundRect.width(),
-        backgroundRect.height(),
-        cornerSmoothing
-      );
-
-      canvas.drawPath(squirclePath, backgroundPaint);
-    }
-
-    canvas.restore();
-  }
-
-  private void updatePath() {
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("updatePath");
-      privateMethod.setAccessible(true);
-
-      privateMethod.invoke(base);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
+      squirclePath.draw(canvas, backgroundPaint);
     }
   }
 
   private Paint getBackgroundPaint() {
-    return (Paint) getVariableWithReflection("backgroundPaint");
-  }
-
-  private ComputedBorderRadius getComputedBorderRadius() {
-    return (ComputedBorderRadius) getVariableWithReflection("computedBorderRadius");
-  }
-
-  private RectF getBackgroundRect() {
-    return (RectF) getVariableWithReflection("backgroundRect");
-  }
-
-  private Object getVariableWithReflection(String fieldName) {
-    try {
-      Field field = BackgroundDrawable.class.getDeclaredField(fieldName);
-      field.setAccessible(true); // Bypass private access
-
-      Object fieldValue = field.get(base);
-
-      field.setAccessible(false);
-
-      return fieldValue;
-    } catch (NoSuchFieldException | IllegalAccessException ignored) {
-    }
-
-    return null;
+    return BackgroundDrawableAccessors.getBackgroundPaint(base);
   }
 
   @Override
@@ -115,15 +64,7 @@ public class SquircleBackgroundDrawable extends ComposedDrawable {
     super.onBoundsChange(bounds);
     if (base == null) return;
 
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("onBoundsChange", Rect.class);
-      privateMethod.setAccessible(true);
-
-      privateMethod.invoke(base, bounds);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    BackgroundDrawableAccessors.onBoundsChange(base, bounds);
   }
 
   @Override
@@ -131,17 +72,7 @@ public class SquircleBackgroundDrawable extends ComposedDrawable {
     var superResult = super.onLevelChange(level);
     if (base == null) return superResult;
 
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("onLevelChange", int.class);
-      privateMethod.setAccessible(true);
-
-      Object result = privateMethod.invoke(base, level);
-
-      return (boolean) result;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return BackgroundDrawableAccessors.onLevelChange(base, level);
   }
 
   @Override
@@ -149,17 +80,7 @@ public class SquircleBackgroundDrawable extends ComposedDrawable {
     var superResult = super.onStateChange(state);
     if (base == null) return superResult;
 
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("onStateChange", int[].class);
-      privateMethod.setAccessible(true);
-
-      Object result = privateMethod.invoke(base, state);
-
-      return (boolean) result;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return BackgroundDrawableAccessors.onStateChange(base, state);
   }
 
 }
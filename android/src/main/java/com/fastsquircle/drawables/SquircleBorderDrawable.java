@@ -17,22 +17,24 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
 import com.facebook.react.modules.i18nmanager.I18nUtil;
-import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.drawable.BorderDrawable;
 import com.facebook.react.uimanager.style.ColorEdges;
-import com.facebook.react.uimanager.style.ComputedBorderRadius;
-import com.facebook.react.uimanager.style.CornerRadii;
 import com.facebook.react.uimanager.style.LogicalEdge;
-import com.fastsquircle.utils.SquirclePathCalculator;
+import com.fastsquircle.accessors.BorderDrawableAccessors;
+import com.fastsquircle.utils.SquircleDetailPolicy;
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
 import java.util.Objects;
 
-public class SquircleBorderDrawable extends ComposedDrawable {
+/**
+ * Draws the border of React Native around the squircle of the view, taken from the
+ * {@link SquircleLayerGeometry} it shares with the other layers. Widths, colors and styles still
+ * come from the base drawable.
+ */
+public class SquircleBorderDrawable extends ComposedDrawable implements SquircleGeometryLayer {
 
   private BorderDrawable base;
-  private float cornerSmoothing;
+  private final SquircleLayerGeometry layerGeometry;
 
   private ColorEdges mComputedBorderColors = new ColorEdges();
   private Path mCenterDrawPath = null;
@@ -41,30 +43,41 @@ public class SquircleBorderDrawable extends ComposedDrawable {
 
   private @Nullable Path mPathForBorder;
 
+  // Geometry generation and border widths the border paths were built from
+  private int mPathGeneration = -1;
+  private final RectF mPathBorderInsets = new RectF();
+  private final RectF mPathInsets = new RectF();
+
   private final float mGapBetweenPaths = 0.8f;
 
-  public SquircleBorderDrawable(BorderDrawable base, float cornerSmoothing) {
+  public SquircleBorderDrawable(BorderDrawable base, SquircleLayerGeometry layerGeometry) {
     super(base);
 
     this.base = base;
-    this.cornerSmoothing = cornerSmoothing;
+    this.layerGeometry = layerGeometry;
   }
 
   public void setBase(BorderDrawable base) {
     super.updateBase(base);
     this.base = base;
+    mPathGeneration = -1;
 
     invalidateSelf();
   }
 
-  public void setCornerSmoothing(float cornerSmoothing) {
-    this.cornerSmoothing = cornerSmoothing;
-
-    invalidateSelf();
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    draw(canvas, layerGeometry);
   }
 
   @Override
-  public void draw(@NonNull Canvas canvas) {
+  public void draw(@NonNull Canvas canvas, @NonNull SquircleLayerGeometry geometry) {
+    // Tiny radii are handled by SquircleLayerGeometry.getInsetPath, which falls back to round rects
+    if (SquircleDetailPolicy.isPlainSmoothing(geometry.getCornerSmoothing())) {
+      base.draw(canvas);
+      return;
+    }
+
     updatePathEffect();
 
     var borderColors = getBorderColors();
@@ -72,17 +85,16 @@ public class SquircleBorderDrawable extends ComposedDrawable {
       ? resolveBorderColors(borderColors, getLayoutDirection(), getContext())
       : getComputedBorderColors();
 
-    var borderRadius = base.getBorderRadius();
-    if (borderRadius != null && borderRadius.hasRoundedBorders()) {
-      drawRoundedBorders(canvas);
+    if (geometry.hasRoundedCorners()) {
+      drawRoundedBorders(canvas, geometry);
       return;
     }
 
     base.draw(canvas);
   }
 
-  private void drawRoundedBorders(Canvas canvas) {
-    updatePath();
+  private void drawRoundedBorders(Canvas canvas, SquircleLayerGeometry geometry) {
+    updatePath(geometry);
     canvas.save();
 
     var borderWidth = computeBorderInsets();
@@ -197,326 +209,90 @@ public class SquircleBorderDrawable extends ComposedDrawable {
   }
 
   private void updatePathEffect() {
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("updatePathEffect");
-      privateMethod.setAccessible(true);
-
-      privateMethod.invoke(base);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    BorderDrawableAccessors.updatePathEffect(base);
   }
 
-  private void updatePath() {
-    var needUpdatePath = getNeedUpdatePath();
-    // Call the update on the base object
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("updatePath");
-      privateMethod.setAccessible(true);
-
-      privateMethod.invoke(base);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
-
-    if (!needUpdatePath) {
-      return;
-    }
+  private void updatePath(SquircleLayerGeometry geometry) {
+    // The base still lays out the rects and inner corners the quadrilaterals are drawn from
+    BorderDrawableAccessors.updatePath(base);
 
-    var tempRectForCenterDrawPath = getTempRectForCenterDrawPath();
-    if (tempRectForCenterDrawPath == null) {
-      return;
-    }
-
-    var outerClipTempRectForBorderRadius = getOuterClipTempRectForBorderRadius();
-    if (outerClipTempRectForBorderRadius == null) {
-      return;
-    }
-
-    var innerClipTempRectForBorderRadius = getInnerClipTempRectForBorderRadius();
-    if (innerClipTempRectForBorderRadius == null) {
+    // Bounds, radii and smoothing are covered by the generation of the geometry
+    var borderInsets = computeBorderInsets();
+    if (geometry.getGeneration() == mPathGeneration && borderInsets.equals(mPathBorderInsets)) {
       return;
     }
 
     if (mCenterDrawPath == null) {
       mCenterDrawPath = new Path();
     }
-    mCenterDrawPath.reset();
 
     if (mOuterClipPathForBorderRadius == null) {
       mOuterClipPathForBorderRadius = new Path();
     }
-    mOuterClipPathForBorderRadius.reset();
 
     if (mInnerClipPathForBorderRadius == null) {
       mInnerClipPathForBorderRadius = new Path();
     }
-    mInnerClipPathForBorderRadius.reset();
 
-    var computedBorderRadius = getComputedBorderRadius();
-    var borderWidth = computeBorderInsets();
-
-    var topLeftRadius = new CornerRadii(0f, 0f);
-    var topRightRadius = new CornerRadii(0f, 0f);
-    var bottomLeftRadius = new CornerRadii(0f, 0f);
-    var bottomRightRadius = new CornerRadii(0f, 0f);
-
-    if (computedBorderRadius != null) {
-      topLeftRadius = new CornerRadii(
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getTopLeft().getHorizontal()),
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getTopLeft().getVertical())
-      );
-
-      topRightRadius = new CornerRadii(
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getTopRight().getHorizontal()),
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getTopRight().getVertical())
-      );
-
-      bottomLeftRadius = new CornerRadii(
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomLeft().getHorizontal()),
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomLeft().getVertical())
-      );
-
-      bottomRightRadius = new CornerRadii(
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomRight().getHorizontal()),
-        PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomRight().getVertical())
-      );
-    }
+    // Outer, inner and center paths are respectively inset by 0, 1 and 0.5 times the border width
+    mPathInsets.setEmpty();
+    geometry.getInsetPath(mPathInsets, mOuterClipPathForBorderRadius);
+    geometry.getInsetPath(borderInsets, mInnerClipPathForBorderRadius);
+    mPathInsets.set(borderInsets.left / 2f, borderInsets.top / 2f, borderInsets.right / 2f, borderInsets.bottom / 2f);
+    geometry.getInsetPath(mPathInsets, mCenterDrawPath);
 
-    var outerClipPathBorderRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        topLeftRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(topLeftRadius.getHorizontal())
-          : 0,
-        topLeftRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(topLeftRadius.getVertical())
-          : 0
-      ),
-      new CornerRadii(
-        topRightRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(topRightRadius.getHorizontal())
-          : 0,
-        topRightRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(topRightRadius.getVertical())
-          : 0
-      ),
-      new CornerRadii(
-        bottomLeftRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getHorizontal())
-          : 0,
-        bottomLeftRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getVertical())
-          : 0
-      ),
-      new CornerRadii(
-        bottomRightRadius.getHorizontal() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getHorizontal())
-          : 0,
-        bottomRightRadius.getVertical() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getVertical())
-          : 0
-      )
-    );
-
-    mOuterClipPathForBorderRadius.set(SquirclePathCalculator.getPath(
-      outerClipPathBorderRadius,
-      outerClipTempRectForBorderRadius.width(),
-      outerClipTempRectForBorderRadius.height(),
-      this.cornerSmoothing
-    ));
-
-    var innerClipPathBorderRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        topLeftRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(topLeftRadius.getHorizontal() - borderWidth.left)
-          : 0,
-        topLeftRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(topLeftRadius.getVertical() - borderWidth.top)
-          : 0
-      ),
-      new CornerRadii(
-        topRightRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(topRightRadius.getHorizontal() - borderWidth.right)
-          : 0,
-        topRightRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(topRightRadius.getVertical() - borderWidth.top)
-          : 0
-      ),
-      new CornerRadii(
-        bottomLeftRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getHorizontal() - borderWidth.left)
-          : 0,
-        bottomLeftRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getVertical() - borderWidth.bottom)
-          : 0
-      ),
-      new CornerRadii(
-        bottomRightRadius.getHorizontal() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getHorizontal() - borderWidth.right)
-          : 0,
-        bottomRightRadius.getVertical() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getVertical() - borderWidth.right)
-          : 0
-      )
-    );
-
-    mInnerClipPathForBorderRadius.set(SquirclePathCalculator.getPath(
-      innerClipPathBorderRadius,
-      innerClipTempRectForBorderRadius.width(),
-      innerClipTempRectForBorderRadius.height(),
-      this.cornerSmoothing
-    ));
-    mInnerClipPathForBorderRadius.offset(borderWidth.left, borderWidth.top);
-
-    var centerDrawPathRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        topLeftRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(topLeftRadius.getHorizontal() - borderWidth.left * 0.5f)
-          : 0,
-        topLeftRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(topLeftRadius.getVertical() - borderWidth.top * 0.5f)
-          : 0
-      ),
-      new CornerRadii(
-        topRightRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(topRightRadius.getHorizontal() - borderWidth.right * 0.5f)
-          : 0,
-        topRightRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(topRightRadius.getVertical() - borderWidth.top * 0.5f)
-          : 0
-      ),
-      new CornerRadii(
-        bottomLeftRadius.getHorizontal() > 0
-          ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getHorizontal() - borderWidth.left * 0.5f)
-          : 0,
-        bottomLeftRadius.getVertical() > 0
-          ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getVertical() - borderWidth.bottom * 0.5f)
-          : 0
-      ),
-      new CornerRadii(
-        bottomRightRadius.getHorizontal() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getHorizontal() - borderWidth.right * 0.5f)
-          : 0,
-        bottomRightRadius.getVertical() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getVertical() - borderWidth.right * 0.5f)
-          : 0
-      )
-    );
-    mCenterDrawPath.set(SquirclePathCalculator.getPath(
-      centerDrawPathRadius,
-      tempRectForCenterDrawPath.width(),
-      tempRectForCenterDrawPath.height(),
-      this.cornerSmoothing
-    ));
-    mCenterDrawPath.offset(
-      borderWidth.left * 0.5f,
-      borderWidth.top * 0.5f
-    );
+    mPathGeneration = geometry.getGeneration();
+    mPathBorderInsets.set(borderInsets);
   }
 
   private RectF computeBorderInsets() {
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("computeBorderInsets");
-      privateMethod.setAccessible(true);
-
-      Object result = privateMethod.invoke(base);
-      return (RectF) result;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return BorderDrawableAccessors.computeBorderInsets(base);
   }
 
-  private Float getFullBorderWidth() {
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("getFullBorderWidth");
-      privateMethod.setAccessible(true);
-
-      Object result = privateMethod.invoke(base);
-      return (Float) result;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+  private float getFullBorderWidth() {
+    return BorderDrawableAccessors.getFullBorderWidth(base);
   }
 
   private Integer[] getBorderColors() {
-    return (Integer[]) getVariableWithReflection("borderColors");
+    return BorderDrawableAccessors.getBorderColors(base);
   }
 
   private ColorEdges getComputedBorderColors() {
-    return (ColorEdges) getVariableWithReflection("computedBorderColors");
-  }
-
-  private ComputedBorderRadius getComputedBorderRadius() {
-    return (ComputedBorderRadius) getVariableWithReflection("computedBorderRadius");
+    return BorderDrawableAccessors.getComputedBorderColors(base);
   }
 
   private Context getContext() {
-    return (Context) getVariableWithReflection("context");
-  }
-
-  private Path getOuterClipPathForBorderRadius() {
-    return (Path) getVariableWithReflection("outerClipPathForBorderRadius");
+    return BorderDrawableAccessors.getContext(base);
   }
 
   private Paint getBorderPaint() {
-    return (Paint) getVariableWithReflection("borderPaint");
-  }
-
-  private Integer getBorderAlpha() {
-    return (Integer) getVariableWithReflection("borderAlpha");
+    return BorderDrawableAccessors.getBorderPaint(base);
   }
 
-  private Boolean getNeedUpdatePath() {
-    return (Boolean) getVariableWithReflection("needUpdatePath");
-  }
-
-  private RectF getTempRectForCenterDrawPath() {
-    return (RectF) getVariableWithReflection("tempRectForCenterDrawPath");
+  private int getBorderAlpha() {
+    return BorderDrawableAccessors.getBorderAlpha(base);
   }
 
   private PointF getInnerTopLeftCorner() {
-    return (PointF) getVariableWithReflection("innerTopLeftCorner");
+    return BorderDrawableAccessors.getInnerTopLeftCorner(base);
   }
 
   private PointF getInnerTopRightCorner() {
-    return (PointF) getVariableWithReflection("innerTopRightCorner");
+    return BorderDrawableAccessors.getInnerTopRightCorner(base);
   }
 
   private PointF getInnerBottomLeftCorner() {
-    return (PointF) getVariableWithReflection("innerBottomLeftCorner");
+    return BorderDrawableAccessors.getInnerBottomLeftCorner(base);
   }
 
   private PointF getInnerBottomRightCorner() {
-    return (PointF) getVariableWithReflection("innerBottomRightCorner");
+    return BorderDrawableAccessors.getInnerBottomRightCorner(base);
   }
 
   private RectF getOuterClipTempRectForBorderRadius() {
-    return (RectF) getVariableWithReflection("outerClipTempRectForBorderRadius");
-  }
-
-  private RectF getInnerClipTempRectForBorderRadius() {
-    return (RectF) getVariableWithReflection("innerClipTempRectForBorderRadius");
+    return BorderDrawableAccessors.getOuterClipTempRectForBorderRadius(base);
   }
 
-  private Object getVariableWithReflection(String fieldName) {
-    try {
-      Field field = BorderDrawable.class.getDeclaredField(fieldName);
-      field.setAccessible(true); // Bypass private access
-
-      Object fieldValue = field.get(base);
-
-      field.setAccessible(false);
-
-      return fieldValue;
-    } catch (NoSuchFieldException | IllegalAccessException ignored) {
-    }
-
-    return null;
-  }
 
   private ColorEdges resolveBorderColors(Integer[] edgeColors, int layoutDirection, Context context) {
 
@@ -653,15 +429,7 @@ public class SquircleBorderDrawable extends ComposedDrawable {
     super.onBoundsChange(bounds);
     if (base == null) return;
 
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("onBoundsChange", Rect.class);
-      privateMethod.setAccessible(true);
-
-      privateMethod.invoke(base, bounds);
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    BorderDrawableAccessors.onBoundsChange(base, bounds);
   }
 
   @Override
@@ -669,17 +437,7 @@ public class SquircleBorderDrawable extends ComposedDrawable {
     var superResult = super.onLevelChange(level);
     if (base == null) return superResult;
 
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("onLevelChange", int.class);
-      privateMethod.setAccessible(true);
-
-      Object result = privateMethod.invoke(base, level);
-
-      return (boolean) result;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return BorderDrawableAccessors.onLevelChange(base, level);
   }
 
   @Override
@@ -687,16 +445,6 @@ public class SquircleBorderDrawable extends ComposedDrawable {
     var superResult = super.onStateChange(state);
     if (base == null) return superResult;
 
-    try {
-      Class<?> clazz = base.getClass();
-      Method privateMethod = clazz.getDeclaredMethod("onStateChange", int[].class);
-      privateMethod.setAccessible(true);
-
-      Object result = privateMethod.invoke(base, state);
-
-      return (boolean) result;
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    return BorderDrawableAccessors.onStateChange(base, state);
   }
 }
@@ -0,0 +1,161 @@
+package com.fastsquircle.drawables;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.fastsquircle.utils.SquircleLayerGeometry;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Draws a run of contiguous squircle layers of a composite background in one pass. Every
+ * {@link SquircleGeometryLayer} draws from the geometry of the view, resolved once per geometry
+ * change, other layers simply draw themselves in order.
+ * <p>
+ * Takes the place of the first layer of the run, the other slots of the LayerDrawable are emptied.
+ */
+public class SquircleCompositeDrawable extends Drawable implements Drawable.Callback {
+
+  private final List<Drawable> layers = new ArrayList<>();
+  private final SquircleLayerGeometry geometry;
+
+  private int alpha = 255;
+
+  public SquircleCompositeDrawable(SquircleLayerGeometry geometry) {
+    this.geometry = geometry;
+  }
+
+  /**
+   * Layers to draw, in order.
+   */
+  public void setLayers(List<Drawable> layers) {
+    this.layers.clear();
+    this.layers.addAll(layers);
+
+    var bounds = getBounds();
+    for (var layer : this.layers) {
+      layer.setCallback(this);
+      layer.setBounds(bounds);
+    }
+
+    invalidateSelf();
+  }
+
+  public List<Drawable> getLayers() {
+    return layers;
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    for (var layer : layers) {
+      if (layer instanceof SquircleGeometryLayer geometryLayer) {
+        geometryLayer.draw(canvas, geometry);
+      } else {
+        layer.draw(canvas);
+      }
+    }
+  }
+
+  @Override
+  protected void onBoundsChange(@NonNull Rect bounds) {
+    for (var layer : layers) {
+      layer.setBounds(bounds);
+    }
+  }
+
+  @Override
+  protected boolean onStateChange(@NonNull int[] state) {
+    boolean changed = false;
+    for (var layer : layers) {
+      changed |= layer.setState(state);
+    }
+
+    return changed;
+  }
+
+  @Override
+  public boolean isStateful() {
+    for (var layer : layers) {
+      if (layer.isStateful()) return true;
+    }
+
+    return false;
+  }
+
+  @Override
+  protected boolean onLevelChange(int level) {
+    boolean changed = false;
+    for (var layer : layers) {
+      changed |= layer.setLevel(level);
+    }
+
+    return changed;
+  }
+
+  @Override
+  public boolean onLayoutDirectionChanged(int layoutDirection) {
+    boolean changed = false;
+    for (var layer : layers) {
+      changed |= layer.setLayoutDirection(layoutDirection);
+    }
+
+    return changed;
+  }
+
+  @Override
+  public boolean setVisible(boolean visible, boolean restart) {
+    var changed = super.setVisible(visible, restart);
+    for (var layer : layers) {
+      layer.setVisible(visible, restart);
+    }
+
+    return changed;
+  }
+
+  @Override
+  public void setAlpha(int alpha) {
+    this.alpha = alpha;
+    for (var layer : layers) {
+      layer.setAlpha(alpha);
+    }
+  }
+
+  @Override
+  public int getAlpha() {
+    return alpha;
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    for (var layer : layers) {
+      layer.setColorFilter(colorFilter);
+    }
+  }
+
+  @Override
+  public int getOpacity() {
+    return PixelFormat.TRANSLUCENT;
+  }
+
+  @Override
+  public void invalidateDrawable(@NonNull Drawable who) {
+    invalidateSelf();
+  }
+
+  @Override
+  public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+    scheduleSelf(what, when);
+  }
+
+  @Override
+  public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+    unscheduleSelf(what);
+  }
+}
@@ -0,0 +1,16 @@
+package com.fastsquircle.drawables;
+
+import android.graphics.Canvas;
+
+import androidx.annotation.NonNull;
+
+import com.fastsquircle.utils.SquircleLayerGeometry;
+
+/**
+ * Layer drawing from the geometry resolved once for all the layers of a view, it never resolves
+ * radii itself. {@link SquircleCompositeDrawable} passes the geometry of its run.
+ */
+public interface SquircleGeometryLayer {
+
+  void draw(@NonNull Canvas canvas, @NonNull SquircleLayerGeometry geometry);
+}
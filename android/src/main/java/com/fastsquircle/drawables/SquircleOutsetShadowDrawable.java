@@ -1,11 +1,11 @@
 package com.fastsquircle.drawables;
 
-import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.ColorFilter;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.RecordingCanvas;
 import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
@@ -17,138 +17,157 @@ import androidx.annotation.RequiresApi;
 
 import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.drawable.OutsetBoxShadowDrawable;
-import com.facebook.react.uimanager.style.ComputedBorderRadius;
-import com.facebook.react.uimanager.style.CornerRadii;
-import com.fastsquircle.utils.SquirclePathCalculator;
-
-import java.lang.reflect.Field;
+import com.fastsquircle.accessors.OutsetBoxShadowDrawableAccessors;
+import com.fastsquircle.utils.SquircleGeometry;
+import com.fastsquircle.utils.SquircleLayerGeometry;
+import com.fastsquircle.utils.SquircleShadowAtlas;
+import com.fastsquircle.utils.SquircleShadowBlur;
 
 @RequiresApi(api = Build.VERSION_CODES.P)
 public class SquircleOutsetShadowDrawable extends ComposedDrawable {
 
   private final OutsetBoxShadowDrawable base;
 
-  private final float cornerSmoothing;
-
-  public SquircleOutsetShadowDrawable(OutsetBoxShadowDrawable base, float cornerSmoothing) {
+  private final SquircleLayerGeometry layerGeometry;
+
+  // React Native creates a new shadow drawable whenever one of these changes, read them only once
+  private final float spreadExtent;
+  private final float offsetX;
+  private final float offsetY;
+  private final float blurRadius;
+  private final Paint shadowPaint;
+
+  private final SquircleGeometry squircleGeometry = new SquircleGeometry();
+  private final Path squirclePath = new Path();
+  private final Path clipPath = new Path();
+  // Unblurred shadows draw the area between the shadow and the clip path instead of clipping
+  private final Path ringPath = new Path();
+
+  // Blurred shadows of uniform squircles are composed from the atlas instead of blurring the path
+  private @Nullable SquircleShadowAtlas.Tile shadowTile = null;
+  private final RectF shadowRect = new RectF();
+  private final Paint tilePaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+  // Blurs on the RenderThread instead, see SquircleShadowBlur
+  private @Nullable SquircleShadowRenderNode shadowRenderNode = null;
+
+  // Inputs of the paths above
+  private int pathGeneration = -1;
+  private final Rect pathBounds = new Rect();
+
+  // We inset the clip slightly, to avoid Skia artifacts with antialiased
+  // clipping. This inset is only visible when no background is present.
+  // https://neugierig.org/software/chromium/notes/2010/07/clipping.html
+  private static final RectF SUBPIXEL_CLIP_INSETS = new RectF(0.4f, 0.4f, 0.4f, 0.4f);
+
+  /**
+   * @param layerGeometry geometry of the view casting the shadow, spread and clip are derived from it
+   */
+  public SquircleOutsetShadowDrawable(OutsetBoxShadowDrawable base, SquircleLayerGeometry layerGeometry) {
     super(base);
     this.base = base;
-    this.cornerSmoothing = cornerSmoothing;
+    this.layerGeometry = layerGeometry;
+
+    this.spreadExtent = PixelUtil.toPixelFromDIP(OutsetBoxShadowDrawableAccessors.getSpread(base));
+    this.offsetX = PixelUtil.toPixelFromDIP(OutsetBoxShadowDrawableAccessors.getOffsetX(base));
+    this.offsetY = PixelUtil.toPixelFromDIP(OutsetBoxShadowDrawableAccessors.getOffsetY(base));
+    this.blurRadius = OutsetBoxShadowDrawableAccessors.getBlurRadius(base);
+    this.shadowPaint = OutsetBoxShadowDrawableAccessors.getShadowPaint(base);
+  }
+
+  public OutsetBoxShadowDrawable getBase() {
+    return base;
   }
 
   @Override
   public void draw(@NonNull Canvas canvas) {
-    var borderRadius = base.getBorderRadius();
-    if (borderRadius == null) {
+    if (!layerGeometry.hasRoundedCorners()) {
       base.draw(canvas);
       return;
     }
 
-    var computedBorderRadius = borderRadius.resolve(
-      getLayoutDirection(),
-      getContext(),
-      getBounds().width(),
-      getBounds().height()
-    );
+    var bounds = getBounds();
+    if (layerGeometry.getGeneration() != pathGeneration || !bounds.equals(pathBounds)) {
+      updatePaths(bounds);
+    }
 
-    if (computedBorderRadius.isUniform() && computedBorderRadius.getTopLeft().getHorizontal() == 0f) {
-      base.draw(canvas);
+    // A blurred shadow spreads on both sides of the ring edges, so it is clipped instead
+    if (shadowPaint.getMaskFilter() == null) {
+      canvas.drawPath(ringPath, shadowPaint);
       return;
     }
 
-    var spreadExtent = PixelUtil.toPixelFromDIP(getSpread());
-    var shadowRect = new RectF(getBounds());
-    shadowRect.inset(-spreadExtent, -spreadExtent);
-    shadowRect.offset(PixelUtil.toPixelFromDIP(getOffsetX()), PixelUtil.toPixelFromDIP(getOffsetY()));
-
     var saveCount = canvas.save();
-
-    var radiusIncrease = PixelUtil.toDIPFromPixel(spreadExtent);
-
-    var squirclePathBorderRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        computedBorderRadius.getTopLeft().getHorizontal() + radiusIncrease,
-        computedBorderRadius.getTopLeft().getVertical() + radiusIncrease
-      ),
-      new CornerRadii(
-        computedBorderRadius.getTopRight().getHorizontal() + radiusIncrease,
-        computedBorderRadius.getTopRight().getVertical() + radiusIncrease
-        ),
-      new CornerRadii(
-        computedBorderRadius.getBottomLeft().getHorizontal() + radiusIncrease,
-        computedBorderRadius.getBottomLeft().getVertical() + radiusIncrease
-        ),
-      new CornerRadii(
-        computedBorderRadius.getBottomRight().getHorizontal() + radiusIncrease,
-        computedBorderRadius.getBottomRight().getVertical() + radiusIncrease
-        )
-    );
-
-    var squirclePath = SquirclePathCalculator.getPath(
-      squirclePathBorderRadius,
-      shadowRect.width(),
-      shadowRect.height(),
-      cornerSmoothing
-    );
-    squirclePath.offset(PixelUtil.toPixelFromDIP(getOffsetX()) - spreadExtent, PixelUtil.toPixelFromDIP(getOffsetY()) - spreadExtent);
-
-    // We inset the clip slightly, to avoid Skia artifacts with antialiased
-    // clipping. This inset is only visible when no background is present.
-    // https://neugierig.org/software/chromium/notes/2010/07/clipping.html
-    var subpixelInsetBounds = new RectF(getBounds());
-    subpixelInsetBounds.inset(0.4f, 0.4f);
-
-    var clipPathCornerRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        computedBorderRadius.getTopLeft().getHorizontal(),
-        computedBorderRadius.getTopLeft().getVertical()
-      ),
-      new CornerRadii(
-        computedBorderRadius.getTopRight().getHorizontal(),
-        computedBorderRadius.getTopRight().getVertical()
-      ),
-      new CornerRadii(
-        computedBorderRadius.getBottomLeft().getHorizontal(),
-        computedBorderRadius.getBottomLeft().getVertical()
-      ),
-      new CornerRadii(
-        computedBorderRadius.getBottomRight().getHorizontal(),
-        computedBorderRadius.getBottomRight().getVertical()
-      )
-    );
-
-    var clipPath = SquirclePathCalculator.getPath(
-      clipPathCornerRadius,
-      subpixelInsetBounds.width(),
-      subpixelInsetBounds.height(),
-      cornerSmoothing
-    );
     canvas.clipOutPath(clipPath);
-
-    var shadowPaint = getShadowPaint();
-    canvas.drawPath(squirclePath, shadowPaint);
-
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+      && SquircleShadowBlur.isRenderEffectEnabled()
+      && canvas instanceof RecordingCanvas
+      && canvas.isHardwareAccelerated()) {
+      getShadowRenderNode().draw(canvas, squirclePath, shadowRect, SquircleShadowBlur.getSigma(blurRadius), shadowPaint);
+    } else if (shadowTile != null) {
+      // The tile only holds coverage, color and alpha come from the paint of React Native
+      tilePaint.setColor(shadowPaint.getColor());
+      tilePaint.setColorFilter(shadowPaint.getColorFilter());
+      shadowTile.draw(canvas, shadowRect, tilePaint);
+    } else {
+      canvas.drawPath(squirclePath, shadowPaint);
+    }
     canvas.restoreToCount(saveCount);
   }
 
-  private Context getContext() {
-    return (Context) getVariableWithReflection("context", this.base);
-  }
+  private void updatePaths(Rect bounds) {
+    shadowRect.set(bounds);
+    shadowRect.inset(-spreadExtent, -spreadExtent);
+    shadowRect.offset(offsetX, offsetY);
+
+    // No tile is built while the render effect replaces it, disabling the effect later draws the
+    // blurred path until the geometry changes
+    shadowTile = SquircleShadowBlur.isRenderEffectEnabled() ? null : getShadowTile();
+    // Also the silhouette of the render node
+    layerGeometry.getOutsetGeometry(spreadExtent, squircleGeometry);
+    squircleGeometry.replayInto(squirclePath, shadowRect.left, shadowRect.top);
+    if (shadowRenderNode != null) {
+      shadowRenderNode.invalidate();
+    }
 
-  private float getSpread() {
-    return (float) getVariableWithReflection("spread", this.base);
-  }
+    layerGeometry.getInsetPath(SUBPIXEL_CLIP_INSETS, clipPath);
+    clipPath.offset(bounds.left, bounds.top);
+
+    if (shadowPaint.getMaskFilter() == null) {
+      ringPath.rewind();
+      ringPath.op(squirclePath, clipPath, Path.Op.DIFFERENCE);
+    }
 
-  private float getOffsetX() {
-    return (float) getVariableWithReflection("offsetX", this.base);
+    pathGeneration = layerGeometry.getGeneration();
+    pathBounds.set(bounds);
   }
 
-  private float getOffsetY() {
-    return (float) getVariableWithReflection("offsetY", this.base);
+  @RequiresApi(Build.VERSION_CODES.S)
+  private SquircleShadowRenderNode getShadowRenderNode() {
+    if (shadowRenderNode == null) {
+      shadowRenderNode = new SquircleShadowRenderNode();
+    }
+
+    return shadowRenderNode;
   }
 
-  private Paint getShadowPaint() {
-    return (Paint) getVariableWithReflection("shadowPaint", this.base);
+  @Nullable
+  private SquircleShadowAtlas.Tile getShadowTile() {
+    var maskFilter = shadowPaint.getMaskFilter();
+    var cornerRadius = layerGeometry.getUniformCornerRadius();
+    if (maskFilter == null || cornerRadius < 0f) return null;
+
+    // Null for shapes too small for the corner slices, the path is blurred instead
+    return SquircleShadowAtlas.get(
+      cornerRadius,
+      layerGeometry.getCornerSmoothing(),
+      blurRadius,
+      spreadExtent,
+      PixelUtil.toPixelFromDIP(1f),
+      maskFilter,
+      shadowRect.width(),
+      shadowRect.height()
+    );
   }
 
   @Override
@@ -167,20 +186,4 @@ public class SquircleOutsetShadowDrawable extends ComposedDrawable {
     return base.getOpacity();
   }
 
-  public static Object getVariableWithReflection(String fieldName, Object obj) {
-    try {
-      Field field = OutsetBoxShadowDrawable.class.getDeclaredField(fieldName);
-      field.setAccessible(true); // Bypass private access
-
-      Object fieldValue = field.get(obj);
-
-      field.setAccessible(false);
-
-      return fieldValue;
-    } catch (NoSuchFieldException | IllegalAccessException ignored) {
-    }
-
-    return null;
-  }
-
 }
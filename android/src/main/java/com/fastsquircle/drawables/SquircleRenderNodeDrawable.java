@@ -0,0 +1,148 @@
+package com.fastsquircle.drawables;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.RecordingCanvas;
+import android.graphics.Rect;
+import android.graphics.RenderNode;
+import android.graphics.drawable.Drawable;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.RequiresApi;
+
+/**
+ * Records a squircle layer into a {@link RenderNode} and replays it on every following frame, so
+ * redraws of the view caused by anything else don't issue the path draws again.
+ * <p>
+ * The layer is recorded again after it or the React Native drawable it replaces invalidate, both
+ * have to use this drawable as their callback, and after bounds, alpha, state or smoothing changes.
+ * Software canvases draw the layer directly.
+ */
+@RequiresApi(Build.VERSION_CODES.Q)
+public class SquircleRenderNodeDrawable extends ComposedDrawable implements Drawable.Callback {
+
+  private Drawable content;
+  private final RenderNode renderNode = new RenderNode("FastSquircleLayer");
+  private @Nullable Callback host = null;
+  private boolean dirty = true;
+
+  public SquircleRenderNodeDrawable(Drawable content) {
+    super(content);
+    this.content = content;
+    // Outlines are drawn outside of the layer bounds
+    this.renderNode.setClipToBounds(false);
+  }
+
+  public Drawable getContent() {
+    return content;
+  }
+
+  public void setContent(Drawable content) {
+    super.updateBase(content);
+    this.content = content;
+    this.dirty = true;
+  }
+
+  /**
+   * Callback receiving the invalidations of this drawable, usually the LayerDrawable holding it.
+   */
+  public void setHost(@Nullable Callback host) {
+    this.host = host;
+  }
+
+  /**
+   * Records the layer again on the next draw.
+   */
+  public void invalidateCache() {
+    this.dirty = true;
+  }
+
+  /**
+   * Frees the recorded display list, e.g. when the view leaves the window.
+   */
+  public void discardCache() {
+    this.renderNode.discardDisplayList();
+    this.dirty = true;
+  }
+
+  @Override
+  public void draw(@NonNull Canvas canvas) {
+    if (!(canvas instanceof RecordingCanvas) || !canvas.isHardwareAccelerated()) {
+      content.draw(canvas);
+      return;
+    }
+
+    if (dirty || !renderNode.hasDisplayList()) {
+      var bounds = getBounds();
+      renderNode.setPosition(bounds);
+
+      var recordingCanvas = renderNode.beginRecording(bounds.width(), bounds.height());
+      try {
+        recordingCanvas.translate(-bounds.left, -bounds.top);
+        content.draw(recordingCanvas);
+      } finally {
+        renderNode.endRecording();
+      }
+
+      dirty = false;
+    }
+
+    canvas.drawRenderNode(renderNode);
+  }
+
+  @Nullable
+  @Override
+  public Callback getCallback() {
+    return host;
+  }
+
+  @Override
+  public void invalidateDrawable(@NonNull Drawable who) {
+    dirty = true;
+    if (host != null) host.invalidateDrawable(this);
+  }
+
+  @Override
+  public void scheduleDrawable(@NonNull Drawable who, @NonNull Runnable what, long when) {
+    if (host != null) host.scheduleDrawable(this, what, when);
+  }
+
+  @Override
+  public void unscheduleDrawable(@NonNull Drawable who, @NonNull Runnable what) {
+    if (host != null) host.unscheduleDrawable(this, what);
+  }
+
+  @Override
+  protected void onBoundsChange(@NonNull Rect bounds) {
+    super.onBoundsChange(bounds);
+    dirty = true;
+  }
+
+  @Override
+  protected boolean onLevelChange(int level) {
+    dirty = true;
+    return content.setLevel(level);
+  }
+
+  @Override
+  public boolean setState(@NonNull int[] stateSet) {
+    var changed = super.setState(stateSet);
+    if (changed) dirty = true;
+
+    return changed;
+  }
+
+  @Override
+  public void setAlpha(int i) {
+    super.setAlpha(i);
+    dirty = true;
+  }
+
+  @Override
+  public void setColorFilter(@Nullable ColorFilter colorFilter) {
+    super.setColorFilter(colorFilter);
+    dirty = true;
+  }
+}
@@ -0,0 +1,82 @@
+package com.fastsquircle.drawables;
+
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.graphics.RenderEffect;
+import android.graphics.RenderNode;
+import android.graphics.Shader;
+import android.os.Build;
+
+import androidx.annotation.RequiresApi;
+
+import com.fastsquircle.utils.SquircleShadowBlur;
+
+import java.util.Objects;
+
+/**
+ * Shadow silhouette recorded into a {@link RenderNode} and blurred by a {@link RenderEffect}, the blur
+ * runs on the RenderThread every frame and the silhouette is only recorded again when it changes.
+ */
+@RequiresApi(Build.VERSION_CODES.S)
+public class SquircleShadowRenderNode {
+
+  private final RenderNode renderNode = new RenderNode("FastSquircleShadow");
+  private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+  private boolean dirty = true;
+  private float sigma = -1f;
+
+  /**
+   * Records the silhouette again on the next draw.
+   */
+  public void invalidate() {
+    dirty = true;
+  }
+
+  /**
+   * Draws the blurred {@code silhouette}, whose bounds are {@code silhouetteRect}, with the color and
+   * color filter of {@code shadowPaint}. Its blur mask filter is replaced by a blur of {@code sigma}.
+   */
+  public void draw(Canvas canvas, Path silhouette, RectF silhouetteRect, float sigma, Paint shadowPaint) {
+    if (this.sigma != sigma) {
+      var radius = SquircleShadowBlur.getEffectRadius(sigma);
+      renderNode.setRenderEffect(radius > 0f ? RenderEffect.createBlurEffect(radius, radius, Shader.TileMode.DECAL) : null);
+      this.sigma = sigma;
+      dirty = true;
+    }
+
+    if (dirty
+      || paint.getColor() != shadowPaint.getColor()
+      || !Objects.equals(paint.getColorFilter(), shadowPaint.getColorFilter())
+      || !renderNode.hasDisplayList()) {
+      record(silhouette, silhouetteRect, shadowPaint.getColor(), shadowPaint.getColorFilter());
+    }
+
+    canvas.drawRenderNode(renderNode);
+  }
+
+  private void record(Path silhouette, RectF silhouetteRect, int color, ColorFilter colorFilter) {
+    paint.setColor(color);
+    paint.setColorFilter(colorFilter);
+
+    // The blur only reaches the pixels of the node, leave room for three sigmas around the silhouette
+    var extent = (int) Math.ceil(3f * sigma);
+    var left = (int) Math.floor(silhouetteRect.left) - extent;
+    var top = (int) Math.floor(silhouetteRect.top) - extent;
+    var right = (int) Math.ceil(silhouetteRect.right) + extent;
+    var bottom = (int) Math.ceil(silhouetteRect.bottom) + extent;
+    renderNode.setPosition(left, top, right, bottom);
+
+    var recordingCanvas = renderNode.beginRecording(right - left, bottom - top);
+    try {
+      recordingCanvas.translate(-left, -top);
+      recordingCanvas.drawPath(silhouette, paint);
+    } finally {
+      renderNode.endRecording();
+    }
+
+    dirty = false;
+  }
+}
@@ -0,0 +1,199 @@
+package com.fastsquircle.utils;
+
+import androidx.annotation.Nullable;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Central registry of the React Native internals we reach through reflection.
+ * <p>
+ * Every field and method is looked up once per (class, name), made accessible once and then kept,
+ * so drawing only pays for the actual {@code Field.get} / {@code Method.invoke}. Drawables are
+ * expected to keep the returned accessors in static fields. Missing members don't throw at lookup
+ * time, they resolve to an accessor reporting {@link FieldAccessor#isResolved()} false.
+ */
+public class ReflectionRegistry {
+
+  private static final ConcurrentHashMap<MemberKey, FieldAccessor> fields = new ConcurrentHashMap<>();
+  private static final ConcurrentHashMap<MemberKey, MethodAccessor> methods = new ConcurrentHashMap<>();
+
+  public static FieldAccessor field(Class<?> owner, String name) {
+    return fields.computeIfAbsent(new MemberKey(owner, name, null), key -> new FieldAccessor(owner, name));
+  }
+
+  public static MethodAccessor method(Class<?> owner, String name, Class<?>... parameterTypes) {
+    return methods.computeIfAbsent(
+      new MemberKey(owner, name, parameterTypes),
+      key -> new MethodAccessor(owner, name, parameterTypes)
+    );
+  }
+
+  /**
+   * Descriptions of every registered member that couldn't be resolved, empty when all are available.
+   */
+  public static List<String> getUnresolvedMembers() {
+    var unresolved = new ArrayList<String>();
+    for (var accessor : fields.values()) {
+      if (!accessor.isResolved()) unresolved.add(accessor.toString());
+    }
+    for (var accessor : methods.values()) {
+      if (!accessor.isResolved()) unresolved.add(accessor.toString());
+    }
+    return unresolved;
+  }
+
+  public static class FieldAccessor {
+    private final Class<?> owner;
+    private final String name;
+    private final @Nullable Field field;
+
+    private FieldAccessor(Class<?> owner, String name) {
+      this.owner = owner;
+      this.name = name;
+
+      Field field = null;
+      try {
+        field = owner.getDeclaredField(name);
+        field.setAccessible(true);
+      } catch (NoSuchFieldException | SecurityException ignored) {
+        field = null;
+      }
+      this.field = field;
+    }
+
+    public boolean isResolved() {
+      return field != null;
+    }
+
+    @Nullable
+    public Object get(Object target) {
+      if (field == null) return null;
+
+      try {
+        return field.get(target);
+      } catch (IllegalAccessException ignored) {
+      }
+
+      return null;
+    }
+
+    public float getFloat(Object target) {
+      if (field == null) return 0f;
+
+      try {
+        return field.getFloat(target);
+      } catch (IllegalAccessException ignored) {
+      }
+
+      return 0f;
+    }
+
+    public int getInt(Object target) {
+      if (field == null) return 0;
+
+      try {
+        return field.getInt(target);
+      } catch (IllegalAccessException ignored) {
+      }
+
+      return 0;
+    }
+
+    public boolean getBoolean(Object target) {
+      if (field == null) return false;
+
+      try {
+        return field.getBoolean(target);
+      } catch (IllegalAccessException ignored) {
+      }
+
+      return false;
+    }
+
+    @Override
+    public String toString() {
+      return owner.getName() + "#" + name;
+    }
+  }
+
+  public static class MethodAccessor {
+    private final Class<?> owner;
+    private final String name;
+    private final Class<?>[] parameterTypes;
+    private final @Nullable Method method;
+
+    private MethodAccessor(Class<?> owner, String name, Class<?>[] parameterTypes) {
+      this.owner = owner;
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+
+      Method method = null;
+      try {
+        method = owner.getDeclaredMethod(name, parameterTypes);
+        method.setAccessible(true);
+      } catch (NoSuchMethodException | SecurityException ignored) {
+        method = null;
+      }
+      this.method = method;
+    }
+
+    public boolean isResolved() {
+      return method != null;
+    }
+
+    /**
+     * Invokes the method, any failure including a missing method is rethrown as a RuntimeException.
+     */
+    public Object invoke(Object target, Object... args) {
+      if (method == null) {
+        throw new RuntimeException(new NoSuchMethodException(toString()));
+      }
+
+      try {
+        return method.invoke(target, args);
+      } catch (Exception e) {
+        throw new RuntimeException(e);
+      }
+    }
+
+    @Override
+    public String toString() {
+      var parameters = new ArrayList<String>();
+      for (var type : parameterTypes) parameters.add(type.getSimpleName());
+      return owner.getName() + "#" + name + "(" + String.join(", ", parameters) + ")";
+    }
+  }
+
+  private static class MemberKey {
+    private final Class<?> owner;
+    private final String name;
+    private final @Nullable Class<?>[] parameterTypes;
+
+    MemberKey(Class<?> owner, String name, @Nullable Class<?>[] parameterTypes) {
+      this.owner = owner;
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof MemberKey other)) return false;
+
+      return owner == other.owner
+        && name.equals(other.name)
+        && Arrays.equals(parameterTypes, other.parameterTypes);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(owner, name, Arrays.hashCode(parameterTypes));
+    }
+  }
+}
@@ -0,0 +1,26 @@
+package com.fastsquircle.utils;
+
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Read only handle of a path shared through {@link SquircleGeometryCache}. The path itself is never
+ * handed out, so a view can't change the geometry every other view with the same key draws.
+ */
+public final class SharedSquirclePath {
+
+  private final Path path;
+
+  SharedSquirclePath(Path path) {
+    this.path = path;
+  }
+
+  public void draw(Canvas canvas, Paint paint) {
+    canvas.drawPath(path, paint);
+  }
+
+  public void clipPath(Canvas canvas) {
+    canvas.clipPath(path);
+  }
+}
@@ -0,0 +1,63 @@
+package com.fastsquircle.utils;
+
+/**
+ * Snapping policy applied to the keys of the squircle caches.
+ * <p>
+ * Layout produces fractional sizes like 343.99 vs 344.0 for views that look identical, so sizes and
+ * radii are snapped to a sub-pixel grid and smoothing to a coarser one before being used as keys.
+ * The geometry is then computed from the snapped values, so every view sharing a key gets exactly
+ * the same shape, at most half a step away from the requested one. A step of 0 disables snapping.
+ */
+public class SquircleCacheQuantization {
+
+  public static final float DEFAULT_SIZE_STEP = 0.25f;
+  public static final float DEFAULT_SMOOTHING_STEP = 0.01f;
+
+  private static volatile float sizeStep = DEFAULT_SIZE_STEP;
+  private static volatile float smoothingStep = DEFAULT_SMOOTHING_STEP;
+
+  public static float getSizeStep() {
+    return sizeStep;
+  }
+
+  /**
+   * Grid in pixels used for widths, heights and radii.
+   */
+  public static void setSizeStep(float sizeStep) {
+    if (SquircleCacheQuantization.sizeStep == sizeStep) return;
+
+    SquircleCacheQuantization.sizeStep = Math.max(sizeStep, 0f);
+    clearCaches();
+  }
+
+  public static float getSmoothingStep() {
+    return smoothingStep;
+  }
+
+  public static void setSmoothingStep(float smoothingStep) {
+    if (SquircleCacheQuantization.smoothingStep == smoothingStep) return;
+
+    SquircleCacheQuantization.smoothingStep = Math.max(smoothingStep, 0f);
+    clearCaches();
+  }
+
+  public static float quantizeSize(float value) {
+    return quantize(value, sizeStep);
+  }
+
+  public static float quantizeSmoothing(float value) {
+    return quantize(value, smoothingStep);
+  }
+
+  private static float quantize(float value, float step) {
+    if (step <= 0f) return value;
+
+    return Math.round(value / step) * step;
+  }
+
+  // Entries computed with the previous grid would never be hit again, also used by SquircleFastMath
+  static void clearCaches() {
+    SquircleGeometryCache.clear();
+    SquirclePathCalculator.clearCornerTemplates();
+  }
+}
@@ -0,0 +1,88 @@
+package com.fastsquircle.utils;
+
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.style.ComputedBorderRadius;
+import com.facebook.react.uimanager.style.CornerRadii;
+
+/**
+ * Level of detail policy deciding when a squircle can't be told apart from a plain rounded rect.
+ * <p>
+ * With no smoothing the squircle corner is exactly a circular arc, and below a pixel or two of
+ * radius the smoothing isn't visible anyway. In both cases drawables fall back to the React Native
+ * base drawable and the calculator to {@link android.graphics.Path#addRoundRect}.
+ */
+public class SquircleDetailPolicy {
+
+  public static final float DEFAULT_MAX_PLAIN_SMOOTHING = 0f;
+  public static final float DEFAULT_MIN_SQUIRCLE_RADIUS = 1.5f;
+
+  private static volatile float maxPlainSmoothing = DEFAULT_MAX_PLAIN_SMOOTHING;
+  private static volatile float minSquircleRadius = DEFAULT_MIN_SQUIRCLE_RADIUS;
+
+  public static float getMaxPlainSmoothing() {
+    return maxPlainSmoothing;
+  }
+
+  /**
+   * Smoothing values up to this one (inclusive) are drawn as plain rounded rects.
+   */
+  public static void setMaxPlainSmoothing(float maxPlainSmoothing) {
+    if (SquircleDetailPolicy.maxPlainSmoothing == maxPlainSmoothing) return;
+
+    SquircleDetailPolicy.maxPlainSmoothing = maxPlainSmoothing;
+    SquircleGeometryCache.clear();
+  }
+
+  public static float getMinSquircleRadius() {
+    return minSquircleRadius;
+  }
+
+  /**
+   * Radius in pixels below which corners are drawn as plain rounded corners.
+   */
+  public static void setMinSquircleRadius(float minSquircleRadius) {
+    if (SquircleDetailPolicy.minSquircleRadius == minSquircleRadius) return;
+
+    SquircleDetailPolicy.minSquircleRadius = minSquircleRadius;
+    SquircleGeometryCache.clear();
+  }
+
+  public static boolean isPlainSmoothing(float cornerSmoothing) {
+    return cornerSmoothing <= maxPlainSmoothing;
+  }
+
+  /**
+   * Radii are in pixels.
+   */
+  public static boolean isPlainRoundRect(float topLeftRadius, float topRightRadius,
+                                         float bottomLeftRadius, float bottomRightRadius,
+                                         float cornerSmoothing) {
+    if (isPlainSmoothing(cornerSmoothing)) return true;
+
+    float maxRadius = Math.max(
+      Math.max(topLeftRadius, topRightRadius),
+      Math.max(bottomLeftRadius, bottomRightRadius)
+    );
+    return maxRadius < minSquircleRadius;
+  }
+
+  /**
+   * Same as {@link #isPlainRoundRect(float, float, float, float, float)} for radii in DIP.
+   */
+  public static boolean isPlainRoundRect(ComputedBorderRadius computedBorderRadius, float cornerSmoothing) {
+    if (isPlainSmoothing(cornerSmoothing)) return true;
+
+    return isPlainRoundRect(
+      getRadius(computedBorderRadius.getTopLeft()),
+      getRadius(computedBorderRadius.getTopRight()),
+      getRadius(computedBorderRadius.getBottomLeft()),
+      getRadius(computedBorderRadius.getBottomRight()),
+      cornerSmoothing
+    );
+  }
+
+  // The squircle only uses the smaller of the two radii, see SquirclePathCalculator
+  private static float getRadius(CornerRadii radii) {
+    return PixelUtil.toPixelFromDIP(Math.min(radii.getHorizontal(), radii.getVertical()));
+  }
+}
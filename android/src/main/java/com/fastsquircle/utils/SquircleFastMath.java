@@ -0,0 +1,73 @@
+package com.fastsquircle.utils;
+
+/**
+ * Opt-in table based replacement for the corner trigonometry of {@link SquirclePathCalculator}.
+ * <p>
+ * Once the effective smoothing s is known every corner length is the radius times a function of s
+ * alone, so those functions are sampled over [0, 1] and linearly interpolated. The interpolation
+ * error of each unit length is below {@link #MAX_UNIT_ERROR}, so for a radius R each corner length
+ * is off by less than R * MAX_UNIT_ERROR pixels (~0.002px for a 1000px radius).
+ */
+public class SquircleFastMath {
+
+  private static final int SAMPLES = 256;
+
+  /**
+   * Upper bound of the absolute interpolation error for a unit radius. The second derivative of
+   * every sampled function is below 1 on [0, 1], so the linear interpolation error is bounded by
+   * 1 / (8 * SAMPLES^2) ~= 1.9e-6.
+   */
+  public static final float MAX_UNIT_ERROR = 1f / (8f * SAMPLES * SAMPLES);
+
+  private static final float[] ARC_SECTION_LENGTH = new float[SAMPLES + 1];
+  private static final float[] C = new float[SAMPLES + 1];
+  private static final float[] D = new float[SAMPLES + 1];
+  private static final float[] ARC_CONTROL_RATIO = new float[SAMPLES + 1];
+
+  private static volatile boolean enabled = false;
+
+  static {
+    for (int i = 0; i <= SAMPLES; i++) {
+      double s = (double) i / SAMPLES;
+      ARC_SECTION_LENGTH[i] = (float) SquirclePathCalculator.unitArcSectionLength(s);
+      C[i] = (float) SquirclePathCalculator.unitC(s);
+      D[i] = (float) SquirclePathCalculator.unitD(s);
+      ARC_CONTROL_RATIO[i] = (float) SquirclePathCalculator.unitArcControlRatio(s);
+    }
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  public static void setEnabled(boolean enabled) {
+    if (SquircleFastMath.enabled == enabled) return;
+
+    SquircleFastMath.enabled = enabled;
+    // Paths and tiles computed with the other math would never match the new ones
+    SquircleCacheQuantization.clearCaches();
+  }
+
+  static float arcSectionLength(float cornerSmoothing) {
+    return lookup(ARC_SECTION_LENGTH, cornerSmoothing);
+  }
+
+  static float c(float cornerSmoothing) {
+    return lookup(C, cornerSmoothing);
+  }
+
+  static float d(float cornerSmoothing) {
+    return lookup(D, cornerSmoothing);
+  }
+
+  static float arcControlRatio(float cornerSmoothing) {
+    return lookup(ARC_CONTROL_RATIO, cornerSmoothing);
+  }
+
+  private static float lookup(float[] table, float cornerSmoothing) {
+    float position = Math.max(0f, Math.min(cornerSmoothing, 1f)) * SAMPLES;
+    int index = Math.min((int) position, SAMPLES - 1);
+    float fraction = position - index;
+    return table[index] + (table[index + 1] - table[index]) * fraction;
+  }
+}
@@ -0,0 +1,187 @@
+package com.fastsquircle.utils;
+
+import android.graphics.Path;
+
+import java.util.Arrays;
+
+/**
+ * Compact, primitive representation of a squircle outline: a verb array plus the float
+ * coordinates consumed by each verb. It can be translated, inset and replayed into a
+ * {@link Path} without recomputing any of the corner trigonometry.
+ */
+public class SquircleGeometry {
+
+  public static final byte VERB_MOVE = 0;
+  public static final byte VERB_LINE = 1;
+  public static final byte VERB_CUBIC = 2;
+  public static final byte VERB_CLOSE = 3;
+
+  // A squircle needs at most 1 move, 4 * 3 cubics, 3 lines and a close
+  private static final int DEFAULT_VERB_CAPACITY = 17;
+  private static final int DEFAULT_COORD_CAPACITY = 80;
+
+  private byte[] verbs = new byte[DEFAULT_VERB_CAPACITY];
+  private float[] coords = new float[DEFAULT_COORD_CAPACITY];
+  private int verbCount = 0;
+  private int coordCount = 0;
+
+  private float left = 0f;
+  private float top = 0f;
+  private float width = 0f;
+  private float height = 0f;
+
+  public void reset(float width, float height) {
+    this.verbCount = 0;
+    this.coordCount = 0;
+    this.left = 0f;
+    this.top = 0f;
+    this.width = width;
+    this.height = height;
+  }
+
+  public void set(SquircleGeometry other) {
+    if (verbs.length < other.verbCount) verbs = new byte[other.verbs.length];
+    if (coords.length < other.coordCount) coords = new float[other.coords.length];
+
+    System.arraycopy(other.verbs, 0, verbs, 0, other.verbCount);
+    System.arraycopy(other.coords, 0, coords, 0, other.coordCount);
+    verbCount = other.verbCount;
+    coordCount = other.coordCount;
+    left = other.left;
+    top = other.top;
+    width = other.width;
+    height = other.height;
+  }
+
+  void moveTo(float x, float y) {
+    addVerb(VERB_MOVE, 2);
+    coords[coordCount++] = x;
+    coords[coordCount++] = y;
+  }
+
+  void lineTo(float x, float y) {
+    addVerb(VERB_LINE, 2);
+    coords[coordCount++] = x;
+    coords[coordCount++] = y;
+  }
+
+  void cubicTo(float x1, float y1, float x2, float y2, float x3, float y3) {
+    addVerb(VERB_CUBIC, 6);
+    coords[coordCount++] = x1;
+    coords[coordCount++] = y1;
+    coords[coordCount++] = x2;
+    coords[coordCount++] = y2;
+    coords[coordCount++] = x3;
+    coords[coordCount++] = y3;
+  }
+
+  void close() {
+    addVerb(VERB_CLOSE, 0);
+  }
+
+  private void addVerb(byte verb, int coordsNeeded) {
+    if (verbCount == verbs.length) {
+      verbs = Arrays.copyOf(verbs, verbs.length * 2);
+    }
+    if (coordCount + coordsNeeded > coords.length) {
+      coords = Arrays.copyOf(coords, Math.max(coords.length * 2, coordCount + coordsNeeded));
+    }
+    verbs[verbCount++] = verb;
+  }
+
+  public void offset(float dx, float dy) {
+    for (int i = 0; i < coordCount; i += 2) {
+      coords[i] += dx;
+      coords[i + 1] += dy;
+    }
+    left += dx;
+    top += dy;
+  }
+
+  /**
+   * Moves every edge inward by dx horizontally and dy vertically keeping the corner curves
+   * untouched, only the straight edges get shorter. This matches recomputing the squircle for the
+   * smaller size with the same radii as long as the corners are not clamped by the size budget.
+   */
+  public void inset(float dx, float dy) {
+    float centerX = left + width / 2f;
+    float centerY = top + height / 2f;
+
+    for (int i = 0; i < coordCount; i += 2) {
+      coords[i] += coords[i] <= centerX ? dx : -dx;
+      coords[i + 1] += coords[i + 1] <= centerY ? dy : -dy;
+    }
+    left += dx;
+    top += dy;
+    width -= 2 * dx;
+    height -= 2 * dy;
+  }
+
+  /**
+   * Rewinds {@code out} and replays this geometry into it.
+   */
+  public void replayInto(Path out) {
+    replayInto(out, 0f, 0f);
+  }
+
+  /**
+   * Rewinds {@code out} and replays this geometry translated by (dx, dy), the geometry itself is
+   * left untouched.
+   */
+  public void replayInto(Path out, float dx, float dy) {
+    out.rewind();
+
+    int c = 0;
+    for (int i = 0; i < verbCount; i++) {
+      switch (verbs[i]) {
+        case VERB_MOVE -> {
+          out.moveTo(coords[c] + dx, coords[c + 1] + dy);
+          c += 2;
+        }
+        case VERB_LINE -> {
+          out.lineTo(coords[c] + dx, coords[c + 1] + dy);
+          c += 2;
+        }
+        case VERB_CUBIC -> {
+          out.cubicTo(
+            coords[c] + dx, coords[c + 1] + dy,
+            coords[c + 2] + dx, coords[c + 3] + dy,
+            coords[c + 4] + dx, coords[c + 5] + dy
+          );
+          c += 6;
+        }
+        case VERB_CLOSE -> out.close();
+      }
+    }
+  }
+
+  public int getVerbCount() {
+    return verbCount;
+  }
+
+  public int getCoordCount() {
+    return coordCount;
+  }
+
+  /**
+   * Backing verb array, only the first {@link #getVerbCount()} entries are valid.
+   */
+  public byte[] getVerbs() {
+    return verbs;
+  }
+
+  /**
+   * Backing coordinate array, only the first {@link #getCoordCount()} entries are valid.
+   */
+  public float[] getCoords() {
+    return coords;
+  }
+
+  public float getWidth() {
+    return width;
+  }
+
+  public float getHeight() {
+    return height;
+  }
+}
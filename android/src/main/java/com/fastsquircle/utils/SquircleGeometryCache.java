@@ -0,0 +1,146 @@
+package com.fastsquircle.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide LRU cache of squircle paths shared by every FastSquircleView.
+ * Paths are handed out as {@link SharedSquirclePath}, which can only draw or clip with them, so
+ * callers needing another shape have to build their own path.
+ * <p>
+ * Keys are snapped with {@link SquircleCacheQuantization} so near-identical views share one entry.
+ */
+public class SquircleGeometryCache {
+
+  private static final int MAX_ENTRIES = 128;
+
+  private static final LinkedHashMap<Key, SharedSquirclePath> entries = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<Key, SharedSquirclePath> eldest) {
+      return size() > MAX_ENTRIES;
+    }
+  };
+
+  // Reused for lookups so that a cache hit does not allocate
+  private static final Key lookupKey = new Key();
+
+  private static long hitCount = 0;
+  private static long missCount = 0;
+  private static int peakSize = 0;
+
+  // Read without the lock by SquircleShapeState on every draw
+  private static volatile int clearCount = 0;
+
+  public static synchronized SharedSquirclePath get(float topLeft, float topRight, float bottomLeft, float bottomRight,
+                                      float width, float height, float cornerSmoothing, float density) {
+    topLeft = SquircleCacheQuantization.quantizeSize(topLeft);
+    topRight = SquircleCacheQuantization.quantizeSize(topRight);
+    bottomLeft = SquircleCacheQuantization.quantizeSize(bottomLeft);
+    bottomRight = SquircleCacheQuantization.quantizeSize(bottomRight);
+    width = SquircleCacheQuantization.quantizeSize(width);
+    height = SquircleCacheQuantization.quantizeSize(height);
+    cornerSmoothing = SquircleCacheQuantization.quantizeSmoothing(cornerSmoothing);
+
+    lookupKey.set(topLeft, topRight, bottomLeft, bottomRight, width, height, cornerSmoothing, density);
+
+    SharedSquirclePath path = entries.get(lookupKey);
+    if (path != null) {
+      hitCount++;
+      return path;
+    }
+
+    missCount++;
+    path = new SharedSquirclePath(
+      SquirclePathCalculator.getPath(topLeft, topRight, bottomLeft, bottomRight, width, height, cornerSmoothing)
+    );
+
+    var key = new Key();
+    key.set(topLeft, topRight, bottomLeft, bottomRight, width, height, cornerSmoothing, density);
+    entries.put(key, path);
+    peakSize = Math.max(peakSize, entries.size());
+
+    return path;
+  }
+
+  public static synchronized long getHitCount() {
+    return hitCount;
+  }
+
+  public static synchronized long getMissCount() {
+    return missCount;
+  }
+
+  /**
+   * Number of distinct geometries currently alive in the cache.
+   */
+  public static synchronized int size() {
+    return entries.size();
+  }
+
+  /**
+   * Highest number of distinct geometries alive at the same time since the last {@link #clear()}.
+   */
+  public static synchronized int getPeakSize() {
+    return peakSize;
+  }
+
+  public static synchronized void clear() {
+    entries.clear();
+    hitCount = 0;
+    missCount = 0;
+    peakSize = 0;
+    clearCount++;
+  }
+
+  /**
+   * Number of times the cache has been cleared, which happens whenever a setting affecting the
+   * geometry changes.
+   */
+  public static int getClearCount() {
+    return clearCount;
+  }
+
+  private static class Key {
+    private float topLeft, topRight, bottomLeft, bottomRight, width, height, cornerSmoothing, density;
+
+    void set(float topLeft, float topRight, float bottomLeft, float bottomRight,
+             float width, float height, float cornerSmoothing, float density) {
+      this.topLeft = topLeft;
+      this.topRight = topRight;
+      this.bottomLeft = bottomLeft;
+      this.bottomRight = bottomRight;
+      this.width = width;
+      this.height = height;
+      this.cornerSmoothing = cornerSmoothing;
+      this.density = density;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key other)) return false;
+
+      return Float.compare(topLeft, other.topLeft) == 0
+        && Float.compare(topRight, other.topRight) == 0
+        && Float.compare(bottomLeft, other.bottomLeft) == 0
+        && Float.compare(bottomRight, other.bottomRight) == 0
+        && Float.compare(width, other.width) == 0
+        && Float.compare(height, other.height) == 0
+        && Float.compare(cornerSmoothing, other.cornerSmoothing) == 0
+        && Float.compare(density, other.density) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Float.floatToIntBits(topLeft);
+      result = 31 * result + Float.floatToIntBits(topRight);
+      result = 31 * result + Float.floatToIntBits(bottomLeft);
+      result = 31 * result + Float.floatToIntBits(bottomRight);
+      result = 31 * result + Float.floatToIntBits(width);
+      result = 31 * result + Float.floatToIntBits(height);
+      result = 31 * result + Float.floatToIntBits(cornerSmoothing);
+      result = 31 * result + Float.floatToIntBits(density);
+      return result;
+    }
+  }
+}
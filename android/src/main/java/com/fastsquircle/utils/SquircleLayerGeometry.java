@@ -0,0 +1,186 @@
+package com.fastsquircle.utils;
+
+import android.content.Context;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.uimanager.PixelUtil;
+import com.facebook.react.uimanager.style.BorderRadiusStyle;
+import com.facebook.react.uimanager.style.ComputedBorderRadius;
+
+import java.util.Arrays;
+
+/**
+ * Geometry shared by the layers of a view: border radii resolved once for the current bounds and
+ * the squircle path of the background derived from them. Layers needing other shapes derive them
+ * from the resolved radii instead of resolving the style again, shadow spreads and outlines through
+ * {@link #getOutsetGeometry(float, SquircleGeometry)} and clips inside the border through
+ * {@link #getInsetPath(RectF, Path)}.
+ * <p>
+ * Owned by FastSquircleView, which updates it before its layers draw.
+ */
+public class SquircleLayerGeometry {
+
+  private final SquircleShapeState shapeState = new SquircleShapeState();
+  private int generation = -1;
+
+  private @Nullable ComputedBorderRadius computedBorderRadius = null;
+  private @Nullable SharedSquirclePath path = null;
+  // Horizontal and vertical radius in pixels of each corner, see SquirclePathCalculator.getInsetPath
+  private final float[] radii = new float[8];
+  private float width = 0f;
+  private float height = 0f;
+  private float cornerSmoothing = 0f;
+
+  /**
+   * Resolves the geometry for the given inputs, returns false when nothing changed since the last call.
+   */
+  public boolean update(@Nullable BorderRadiusStyle borderRadius, int layoutDirection, Context context,
+                        float width, float height, float cornerSmoothing) {
+    if (shapeState.setSize(width, height)
+      | shapeState.setBorderRadius(borderRadius)
+      | shapeState.setLayoutDirection(layoutDirection)) {
+      computedBorderRadius = borderRadius == null ? null : borderRadius.resolve(
+        layoutDirection,
+        context,
+        PixelUtil.toDIPFromPixel(width),
+        PixelUtil.toDIPFromPixel(height)
+      );
+    }
+    shapeState.setCornerSmoothing(cornerSmoothing);
+
+    int generation = shapeState.getGeneration();
+    if (generation == this.generation) return false;
+
+    this.generation = generation;
+    this.width = width;
+    this.height = height;
+    this.cornerSmoothing = cornerSmoothing;
+    updateRadii();
+
+    if (computedBorderRadius == null
+      || !computedBorderRadius.hasRoundedBorders()
+      || SquircleDetailPolicy.isPlainRoundRect(computedBorderRadius, cornerSmoothing)) {
+      path = null;
+    } else {
+      path = SquirclePathCalculator.getCachedPath(computedBorderRadius, width, height, cornerSmoothing);
+    }
+
+    return true;
+  }
+
+  private void updateRadii() {
+    if (computedBorderRadius == null) {
+      Arrays.fill(radii, 0f);
+      return;
+    }
+
+    radii[0] = PixelUtil.toPixelFromDIP(computedBorderRadius.getTopLeft().getHorizontal());
+    radii[1] = PixelUtil.toPixelFromDIP(computedBorderRadius.getTopLeft().getVertical());
+    radii[2] = PixelUtil.toPixelFromDIP(computedBorderRadius.getTopRight().getHorizontal());
+    radii[3] = PixelUtil.toPixelFromDIP(computedBorderRadius.getTopRight().getVertical());
+    radii[4] = PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomLeft().getHorizontal());
+    radii[5] = PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomLeft().getVertical());
+    radii[6] = PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomRight().getHorizontal());
+    radii[7] = PixelUtil.toPixelFromDIP(computedBorderRadius.getBottomRight().getVertical());
+  }
+
+  // Percentages can resolve to different horizontal and vertical radii, squircles use the smallest,
+  // negative outsets can't shrink a corner below square
+  private float getCornerRadius(int corner, float outset) {
+    return Math.max(0f, Math.min(radii[corner * 2], radii[corner * 2 + 1]) + outset);
+  }
+
+  /**
+   * Radius in pixels shared by every corner, -1 when the corners differ.
+   */
+  public float getUniformCornerRadius() {
+    float radius = getCornerRadius(0, 0f);
+    for (int corner = 1; corner < 4; corner++) {
+      if (getCornerRadius(corner, 0f) != radius) return -1f;
+    }
+
+    return radius;
+  }
+
+  public boolean hasRoundedCorners() {
+    return computedBorderRadius != null && computedBorderRadius.hasRoundedBorders();
+  }
+
+  /**
+   * Fills {@code out} with the squircle of the bounds grown by {@code outset} pixels on every side,
+   * every radius growing by the same amount, placed at the origin.
+   */
+  public void getOutsetGeometry(float outset, SquircleGeometry out) {
+    SquirclePathCalculator.getGeometry(
+      getCornerRadius(0, outset),
+      getCornerRadius(1, outset),
+      getCornerRadius(2, outset),
+      getCornerRadius(3, outset),
+      width + 2f * outset,
+      height + 2f * outset,
+      cornerSmoothing,
+      out
+    );
+  }
+
+  /**
+   * Whether the shape of {@link #getOutsetGeometry(float, SquircleGeometry)} can't be told apart
+   * from a plain rounded rect.
+   */
+  public boolean isPlainOutset(float outset) {
+    return SquircleDetailPolicy.isPlainRoundRect(
+      getCornerRadius(0, outset),
+      getCornerRadius(1, outset),
+      getCornerRadius(2, outset),
+      getCornerRadius(3, outset),
+      cornerSmoothing
+    );
+  }
+
+  /**
+   * Rewinds {@code out} and fills it with the squircle of the bounds shrunk by {@code insets}
+   * pixels, the radii being reduced by the insets like the inner edge of a border.
+   */
+  public void getInsetPath(RectF insets, Path out) {
+    SquirclePathCalculator.getInsetPath(radii, insets, width, height, cornerSmoothing, out);
+  }
+
+  /**
+   * Changes every time the geometry changes, layers deriving their own paths can compare it.
+   */
+  public int getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Border radii in DIP, null when the view has no border radius.
+   */
+  @Nullable
+  public ComputedBorderRadius getComputedBorderRadius() {
+    return computedBorderRadius;
+  }
+
+  /**
+   * Squircle path of the bounds, null when a plain rounded rect looks the same. Shared through
+   * {@link SquircleGeometryCache}.
+   */
+  @Nullable
+  public SharedSquirclePath getPath() {
+    return path;
+  }
+
+  public float getWidth() {
+    return width;
+  }
+
+  public float getHeight() {
+    return height;
+  }
+
+  public float getCornerSmoothing() {
+    return cornerSmoothing;
+  }
+}
@@ -8,24 +8,211 @@ import com.facebook.react.uimanager.PixelUtil;
 import com.facebook.react.uimanager.style.ComputedBorderRadius;
 import com.facebook.react.uimanager.style.CornerRadii;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class SquirclePathCalculator {
 //  private static final float CORNER_SMOOTHING = 0.6f;
 
+  // Scratch state reused between calls, kept per thread since paths may also be built off the UI thread
+  private static final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+  private static final int MAX_CORNER_TEMPLATES = 64;
+
+  // Unclamped unit corners keyed by smoothing, shared by every view, radius and size
+  private static final LinkedHashMap<CornerTemplateKey, CornerParams> cornerTemplates = new LinkedHashMap<>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<CornerTemplateKey, CornerParams> eldest) {
+      return size() > MAX_CORNER_TEMPLATES;
+    }
+  };
+  private static final CornerTemplateKey cornerTemplateLookupKey = new CornerTemplateKey();
+
   public static Path getPath(ComputedBorderRadius computedBorderRadius, float w, float h, float cornerSmoothing) {
+    Path path = new Path();
+    getPath(computedBorderRadius, w, h, cornerSmoothing, path);
+    return path;
+  }
+
+  /**
+   * Rewinds {@code out} and fills it with the squircle, this doesn't allocate so callers can keep
+   * the same Path instance across frames.
+   */
+  public static void getPath(ComputedBorderRadius computedBorderRadius, float w, float h, float cornerSmoothing, Path out) {
+    getPath(
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getTopLeft(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getTopRight(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomLeft(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomRight(), w, h),
+      w,
+      h,
+      cornerSmoothing,
+      out
+    );
+  }
+
+  /**
+   * Same as {@link #getPath(ComputedBorderRadius, float, float, float)} but the returned path comes
+   * from the shared {@link SquircleGeometryCache}.
+   */
+  public static SharedSquirclePath getCachedPath(ComputedBorderRadius computedBorderRadius, float w, float h, float cornerSmoothing) {
+    return SquircleGeometryCache.get(
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getTopLeft(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getTopRight(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomLeft(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomRight(), w, h),
+      w,
+      h,
+      cornerSmoothing,
+      PixelUtil.toPixelFromDIP(1f)
+    );
+  }
+
+  /**
+   * Radii are expected to be already resolved in pixels and clamped to half of the min size.
+   */
+  public static Path getPath(float topLeftRadius, float topRightRadius,
+                             float bottomLeftRadius, float bottomRightRadius,
+                             float w, float h, float cornerSmoothing) {
+    Path path = new Path();
+    getPath(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, w, h, cornerSmoothing, path);
+    return path;
+  }
+
+  public static void getPath(float topLeftRadius, float topRightRadius,
+                             float bottomLeftRadius, float bottomRightRadius,
+                             float w, float h, float cornerSmoothing, Path out) {
+    if (SquircleDetailPolicy.isPlainRoundRect(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, cornerSmoothing)) {
+      addRoundRect(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, 0f, 0f, w, h, out);
+      return;
+    }
+
+    SquircleGeometry geometry = scratch.get().geometry;
+    getGeometry(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, w, h, cornerSmoothing, geometry);
+    geometry.replayInto(out);
+  }
+
+  public static void getGeometry(ComputedBorderRadius computedBorderRadius, float w, float h, float cornerSmoothing, SquircleGeometry out) {
+    getGeometry(
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getTopLeft(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getTopRight(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomLeft(), w, h),
+      getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomRight(), w, h),
+      w,
+      h,
+      cornerSmoothing,
+      out
+    );
+  }
+
+  /**
+   * Fills {@code out} with the squircle outline in its compact form, the geometry is placed at the
+   * origin and can later be moved or replayed into a Path without recomputing the corners.
+   */
+  public static void getGeometry(float topLeftRadius, float topRightRadius,
+                                 float bottomLeftRadius, float bottomRightRadius,
+                                 float w, float h, float cornerSmoothing, SquircleGeometry out) {
+    buildGeometry(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, w, h, cornerSmoothing, null, out);
+  }
+
+  private static void buildGeometry(float topLeftRadius, float topRightRadius,
+                                    float bottomLeftRadius, float bottomRightRadius,
+                                    float w, float h, float cornerSmoothing,
+                                    CornerParams unit, SquircleGeometry out) {
     float minSize = Math.min(w, h);
     float roundingAndSmoothingBudget = minSize / 2f;
 
-    float topLeftRadius = getEffectiveRequestedBorderRadius(computedBorderRadius.getTopLeft(), w, h);
-    float topRightRadius = getEffectiveRequestedBorderRadius(computedBorderRadius.getTopRight(), w, h);
-    float bottomLeftRadius = getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomLeft(), w, h);
-    float bottomRightRadius = getEffectiveRequestedBorderRadius(computedBorderRadius.getBottomRight(), w, h);
+    Scratch scratch = SquirclePathCalculator.scratch.get();
+    out.reset(w, h);
+
+    if (topLeftRadius == topRightRadius && topLeftRadius == bottomLeftRadius && topLeftRadius == bottomRightRadius) {
+      // Uniform radii: a single corner is computed and placed four times
+      CornerParams corner = getPathParamsForCorner(topLeftRadius, roundingAndSmoothingBudget, cornerSmoothing, unit, scratch.topLeft);
+      getSVGPathFromPathParams(out, w, h, corner, corner, corner, corner);
+      return;
+    }
+
+    getSVGPathFromPathParams(
+      out,
+      w,
+      h,
+      getPathParamsForCorner(topLeftRadius, roundingAndSmoothingBudget, cornerSmoothing, unit, scratch.topLeft),
+      getPathParamsForCorner(topRightRadius, roundingAndSmoothingBudget, cornerSmoothing, unit, scratch.topRight),
+      getPathParamsForCorner(bottomLeftRadius, roundingAndSmoothingBudget, cornerSmoothing, unit, scratch.bottomLeft),
+      getPathParamsForCorner(bottomRightRadius, roundingAndSmoothingBudget, cornerSmoothing, unit, scratch.bottomRight)
+    );
+  }
+
+  /**
+   * Rewinds {@code out} and fills it with the squircle of a w x h box shrunk by {@code insets}, the
+   * radii being reduced by the insets like the inner edge of a border.
+   *
+   * @param radii horizontal and vertical radius in pixels of the top left, top right, bottom left and
+   *              bottom right corners
+   */
+  public static void getInsetPath(float[] radii, RectF insets, float w, float h, float cornerSmoothing, Path out) {
+    Scratch scratch = SquirclePathCalculator.scratch.get();
+    getPathParamsForCorner(1f, Float.MAX_VALUE, cornerSmoothing, scratch.unit);
+
+    scratch.insetRect.set(0f, 0f, w - insets.left - insets.right, h - insets.top - insets.bottom);
+    buildInsetPath(radii, insets, scratch.insetRect, cornerSmoothing, scratch, out);
+  }
+
+  private static void buildInsetPath(float[] radii, RectF borderInsets, RectF rect,
+                                     float cornerSmoothing, Scratch scratch, Path out) {
+    float left = borderInsets.left;
+    float top = borderInsets.top;
+    float right = borderInsets.right;
+    float bottom = borderInsets.bottom;
+
+    float topLeftRadius = getInsetRadius(radii[0], radii[1], left, top);
+    float topRightRadius = getInsetRadius(radii[2], radii[3], right, top);
+    float bottomLeftRadius = getInsetRadius(radii[4], radii[5], left, bottom);
+    float bottomRightRadius = getInsetRadius(radii[6], radii[7], right, bottom);
+
+    if (SquircleDetailPolicy.isPlainRoundRect(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, cornerSmoothing)) {
+      addRoundRect(topLeftRadius, topRightRadius, bottomLeftRadius, bottomRightRadius, left, top, rect.width(), rect.height(), out);
+      return;
+    }
+
+    buildGeometry(
+      topLeftRadius,
+      topRightRadius,
+      bottomLeftRadius,
+      bottomRightRadius,
+      rect.width(),
+      rect.height(),
+      cornerSmoothing,
+      scratch.unit,
+      scratch.geometry
+    );
+    scratch.geometry.replayInto(out, left, top);
+  }
 
-    CornerParams topLeft = getPathParamsForCorner(topLeftRadius, roundingAndSmoothingBudget, cornerSmoothing);
-    CornerParams topRight = getPathParamsForCorner(topRightRadius, roundingAndSmoothingBudget, cornerSmoothing);
-    CornerParams bottomLeft = getPathParamsForCorner(bottomLeftRadius, roundingAndSmoothingBudget, cornerSmoothing);
-    CornerParams bottomRight = getPathParamsForCorner(bottomRightRadius, roundingAndSmoothingBudget, cornerSmoothing);
+  /**
+   * Rewinds {@code out} and fills it with a plain rounded rect, used when the squircle wouldn't be
+   * distinguishable from it, see {@link SquircleDetailPolicy}.
+   */
+  private static void addRoundRect(float topLeftRadius, float topRightRadius,
+                                   float bottomLeftRadius, float bottomRightRadius,
+                                   float left, float top, float w, float h, Path out) {
+    float budget = Math.min(w, h) / 2f;
+
+    // Path expects the radii clockwise starting from the top left corner
+    float[] radii = scratch.get().roundRectRadii;
+    radii[0] = radii[1] = Math.min(topLeftRadius, budget);
+    radii[2] = radii[3] = Math.min(topRightRadius, budget);
+    radii[4] = radii[5] = Math.min(bottomRightRadius, budget);
+    radii[6] = radii[7] = Math.min(bottomLeftRadius, budget);
+
+    out.rewind();
+    out.addRoundRect(left, top, left + w, top + h, radii, Path.Direction.CW);
+  }
 
-    return getSVGPathFromPathParams(w, h, topLeft, topRight, bottomLeft, bottomRight);
+  private static float getInsetRadius(float horizontal, float vertical, float insetX, float insetY) {
+    float h = horizontal > 0 ? Math.max(horizontal - insetX, 0f) : 0f;
+    float v = vertical > 0 ? Math.max(vertical - insetY, 0f) : 0f;
+    return Math.min(h, v);
   }
 
   private static float getEffectiveRequestedBorderRadius(CornerRadii radii, float w, float h) {
@@ -40,205 +227,212 @@ public class SquirclePathCalculator {
     );
   }
 
-  private static CornerParams getPathParamsForCorner(float cornerRadius, float budget, float targetCornerSmoothing) {
+  /**
+   * Writes the params of a corner into {@code out} and returns it.
+   * <p>
+   * When the smoothing isn't clamped by the budget the corner doesn't depend on the view size at all,
+   * its params are those of a unit corner scaled by the exact radius. The unit corner is either given
+   * or taken from the template cache keyed by the smoothing. Only clamped corners are computed from
+   * scratch.
+   */
+  private static CornerParams getPathParamsForCorner(float cornerRadius, float budget, float targetCornerSmoothing,
+                                                     CornerParams unit, CornerParams out) {
+    cornerRadius = Math.min(cornerRadius, budget);
+
+    if ((1 + targetCornerSmoothing) * cornerRadius > budget) {
+      getPathParamsForCorner(cornerRadius, budget, targetCornerSmoothing, out);
+      return out;
+    }
+
+    if (unit == null) {
+      unit = getCornerTemplate(targetCornerSmoothing);
+    }
+
+    out.set(
+      unit.a * cornerRadius,
+      unit.b * cornerRadius,
+      unit.c * cornerRadius,
+      unit.d * cornerRadius,
+      unit.p * cornerRadius,
+      unit.arcSectionLength * cornerRadius,
+      cornerRadius,
+      unit.arcControlRatio
+    );
+    return out;
+  }
+
+  private static CornerParams getCornerTemplate(float cornerSmoothing) {
+    synchronized (cornerTemplates) {
+      cornerTemplateLookupKey.set(cornerSmoothing);
+
+      CornerParams template = cornerTemplates.get(cornerTemplateLookupKey);
+      if (template != null) {
+        return template;
+      }
+
+      // Unclamped corners don't depend on the budget, so any budget large enough will do
+      template = new CornerParams();
+      getPathParamsForCorner(1f, Float.MAX_VALUE, cornerSmoothing, template);
+
+      var key = new CornerTemplateKey();
+      key.set(cornerSmoothing);
+      cornerTemplates.put(key, template);
+
+      return template;
+    }
+  }
+
+  /**
+   * Number of distinct corner templates currently alive.
+   */
+  public static int getCornerTemplateCount() {
+    synchronized (cornerTemplates) {
+      return cornerTemplates.size();
+    }
+  }
+
+  /**
+   * Drops every cached corner template, needed whenever the way corners are computed changes.
+   */
+  static void clearCornerTemplates() {
+    synchronized (cornerTemplates) {
+      cornerTemplates.clear();
+    }
+  }
+
+  private static void getPathParamsForCorner(float cornerRadius, float budget, float targetCornerSmoothing, CornerParams out) {
     float p = (1 + targetCornerSmoothing) * cornerRadius;
 
     float maxCornerSmoothing = budget / cornerRadius - 1;
     float cornerSmoothing = Math.min(targetCornerSmoothing, maxCornerSmoothing);
     p = Math.min(p, budget);
 
-    float arcMeasure = 90 * (1 - cornerSmoothing);
-    float arcSectionLength = (float) (Math.sin(toRadians(arcMeasure / 2)) * cornerRadius * Math.sqrt(2));
-
-    float angleAlpha = (90 - arcMeasure) / 2;
-    float p3ToP4Distance = (float) (cornerRadius * Math.tan(toRadians(angleAlpha / 2)));
-
-    float angleBeta = 45 * cornerSmoothing;
-    float c = (float) (p3ToP4Distance * Math.cos(toRadians(angleBeta)));
-    float d = (float) (c * Math.tan(toRadians(angleBeta)));
+    float arcSectionLength, c, d, arcControlRatio;
+    if (SquircleFastMath.isEnabled()) {
+      arcSectionLength = SquircleFastMath.arcSectionLength(cornerSmoothing) * cornerRadius;
+      c = SquircleFastMath.c(cornerSmoothing) * cornerRadius;
+      d = SquircleFastMath.d(cornerSmoothing) * cornerRadius;
+      arcControlRatio = SquircleFastMath.arcControlRatio(cornerSmoothing);
+    } else {
+      arcSectionLength = (float) (unitArcSectionLength(cornerSmoothing) * cornerRadius);
+      c = (float) (unitC(cornerSmoothing) * cornerRadius);
+      d = (float) (unitD(cornerSmoothing) * cornerRadius);
+      arcControlRatio = (float) unitArcControlRatio(cornerSmoothing);
+    }
 
     float b = (p - arcSectionLength - c - d) / 3;
     float a = 2 * b;
 
-    return new CornerParams(a, b, c, d, p, arcSectionLength, cornerRadius);
+    out.set(a, b, c, d, p, arcSectionLength, cornerRadius, arcControlRatio);
   }
 
-  private static Path getSVGPathFromPathParams(float width, float height,
+  // Corner lengths for a radius of 1 and an effective smoothing s, also sampled by SquircleFastMath.
+  // The circular section spans 90 * (1 - s) degrees, the smoothing curves take 45 * s degrees each.
+
+  static double unitArcSectionLength(double s) {
+    return Math.sin(Math.PI / 4 * (1 - s)) * Math.sqrt(2);
+  }
+
+  // Distance between the end of the smoothing curve and the tangent of the arc, projected on the edge
+  static double unitC(double s) {
+    return Math.tan(Math.PI / 8 * s) * Math.cos(Math.PI / 4 * s);
+  }
+
+  // Same distance projected on the normal of the edge
+  static double unitD(double s) {
+    return Math.tan(Math.PI / 8 * s) * Math.sin(Math.PI / 4 * s);
+  }
+
+  // Control point distance of the cubic approximating the circular section of angle theta: 4/3 * tan(theta / 4)
+  static double unitArcControlRatio(double s) {
+    return 4.0 / 3.0 * Math.tan(Math.PI / 8 * (1 - s));
+  }
+
+  private static void getSVGPathFromPathParams(SquircleGeometry path, float width, float height,
                                                CornerParams topLeft, CornerParams topRight,
                                                CornerParams bottomLeft, CornerParams bottomRight) {
-    Path path = new Path();
+    // Every corner is the same curve expressed in a local frame anchored at the corner vertex,
+    // where x goes back along the incoming edge and y goes forward along the outgoing one.
+    // Each corner below just places that curve by reflecting/rotating the local points.
+    path.moveTo(width - topRight.p, 0f);
 
-    // Helper method inside the function for arc drawing
-    class ArcHelper {
-      void arcFromTo(float cx, float cy, float R, float x1, float y1, float x2, float y2) {
-        double startMath = Math.toDegrees(Math.atan2(cy - y1, x1 - cx));
-        double endMath = Math.toDegrees(Math.atan2(cy - y2, x2 - cx));
-        float startAngleAndroid = (float) -startMath;
-        float sweep = (float) ((startMath - endMath) % 360);
-        if (sweep < 0) sweep += 360;
-        RectF rect = new RectF(cx - R, cy - R, cx + R, cy + R);
-        path.arcTo(rect, startAngleAndroid, sweep, false);
-      }
-    }
+    emitCorner(path, topRight, width, 0f, -1f, 0f, 0f, 1f);
+    path.lineTo(width, height - bottomRight.p);
 
-    ArcHelper helper = new ArcHelper();
-
-    // --- TOP-RIGHT CORNER ---
-    {
-      float R = topRight.cornerRadius;
-      float p = topRight.p;
-      float a = topRight.a, b = topRight.b, c = topRight.c, d = topRight.d, arc = topRight.arcSectionLength;
-      float startX = width - p;
-      float startY = 0f;
-      path.moveTo(startX, startY);
-
-      if (R > 0f) {
-        float cp1X = startX + a;
-        float cp1Y = startY;
-        float cp2X = startX + a + b;
-        float cp2Y = startY;
-        float end1X = startX + a + b + c;
-        float end1Y = startY + d;
-        path.cubicTo(cp1X, cp1Y, cp2X, cp2Y, end1X, end1Y);
-
-        float cx = width - R;
-        float cy = R;
-        float end2X = end1X + arc;
-        float end2Y = end1Y + arc;
-        helper.arcFromTo(cx, cy, R, end1X, end1Y, end2X, end2Y);
-
-        float finalX = width;
-        float finalY = p;
-        float cp3X = end2X + d;
-        float cp3Y = end2Y + c;
-        float cp4X = end2X + d;
-        float cp4Y = end2Y + b + c;
-        path.cubicTo(cp3X, cp3Y, cp4X, cp4Y, finalX, finalY);
-      } else {
-        path.lineTo(width, 0f);
-      }
-    }
+    emitCorner(path, bottomRight, width, height, 0f, -1f, -1f, 0f);
+    path.lineTo(bottomLeft.p, height);
 
-    path.lineTo(width, height - bottomRight.p);
+    emitCorner(path, bottomLeft, 0f, height, 1f, 0f, 0f, -1f);
+    path.lineTo(0f, topLeft.p);
 
-    // --- BOTTOM-RIGHT CORNER ---
-    {
-      float R = bottomRight.cornerRadius;
-      float p = bottomRight.p;
-      float a = bottomRight.a, b = bottomRight.b, c = bottomRight.c, d = bottomRight.d, arc = bottomRight.arcSectionLength;
-      if (R > 0f) {
-        float startX = width;
-        float startY = height - p;
-        float cp1X = startX;
-        float cp1Y = startY + a;
-        float cp2X = startX;
-        float cp2Y = startY + a + b;
-        float end1X = startX - d;
-        float end1Y = startY + a + b + c;
-        path.cubicTo(cp1X, cp1Y, cp2X, cp2Y, end1X, end1Y);
-
-        float cx = width - R;
-        float cy = height - R;
-        float end2X = end1X - arc;
-        float end2Y = end1Y + arc;
-        helper.arcFromTo(cx, cy, R, end1X, end1Y, end2X, end2Y);
-
-        float finalX = width - p;
-        float finalY = height;
-        float cp3X = end2X - c;
-        float cp3Y = end2Y + d;
-        float cp4X = end2X - b - c;
-        float cp4Y = end2Y + d;
-        path.cubicTo(cp3X, cp3Y, cp4X, cp4Y, finalX, finalY);
-      } else {
-        path.lineTo(width, height);
-      }
+    emitCorner(path, topLeft, 0f, 0f, 0f, 1f, 1f, 0f);
+
+    path.close();
+  }
+
+  private static void emitCorner(SquircleGeometry path, CornerParams corner,
+                                 float vertexX, float vertexY,
+                                 float xAxisX, float xAxisY, float yAxisX, float yAxisY) {
+    if (corner.cornerRadius <= 0f) {
+      path.lineTo(vertexX, vertexY);
+      return;
     }
 
-    path.lineTo(bottomLeft.p, height);
+    float[] l = corner.localPoints;
+    for (int i = 0; i < LOCAL_POINT_COUNT * 2; i += 6) {
+      path.cubicTo(
+        vertexX + l[i] * xAxisX + l[i + 1] * yAxisX,
+        vertexY + l[i] * xAxisY + l[i + 1] * yAxisY,
+        vertexX + l[i + 2] * xAxisX + l[i + 3] * yAxisX,
+        vertexY + l[i + 2] * xAxisY + l[i + 3] * yAxisY,
+        vertexX + l[i + 4] * xAxisX + l[i + 5] * yAxisX,
+        vertexY + l[i + 4] * xAxisY + l[i + 5] * yAxisY
+      );
+    }
+  }
 
-    // --- BOTTOM-LEFT CORNER ---
-    {
-      float R = bottomLeft.cornerRadius;
-      float p = bottomLeft.p;
-      float a = bottomLeft.a, b = bottomLeft.b, c = bottomLeft.c, d = bottomLeft.d, arc = bottomLeft.arcSectionLength;
-      if (R > 0f) {
-        float startX = p;
-        float startY = height;
-        float cp1X = startX - a;
-        float cp1Y = startY;
-        float cp2X = startX - a - b;
-        float cp2Y = startY;
-        float end1X = startX - a - b - c;
-        float end1Y = startY - d;
-        path.cubicTo(cp1X, cp1Y, cp2X, cp2Y, end1X, end1Y);
-
-        float cx = R;
-        float cy = height - R;
-        float end2X = end1X - arc;
-        float end2Y = end1Y - arc;
-        helper.arcFromTo(cx, cy, R, end1X, end1Y, end2X, end2Y);
-
-        float finalX = 0f;
-        float finalY = height - p;
-        float cp3X = end2X - d;
-        float cp3Y = end2Y - c;
-        float cp4X = end2X - d;
-        float cp4Y = end2Y - b - c;
-        path.cubicTo(cp3X, cp3Y, cp4X, cp4Y, finalX, finalY);
-      } else {
-        path.lineTo(0f, height);
-      }
+  private static class CornerTemplateKey {
+    private float cornerSmoothing;
+
+    void set(float cornerSmoothing) {
+      this.cornerSmoothing = cornerSmoothing;
     }
 
-    path.lineTo(0f, topLeft.p);
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof CornerTemplateKey other)) return false;
 
-    // --- TOP-LEFT CORNER ---
-    {
-      float R = topLeft.cornerRadius;
-      float p = topLeft.p;
-      float a = topLeft.a, b = topLeft.b, c = topLeft.c, d = topLeft.d, arc = topLeft.arcSectionLength;
-      if (R > 0f) {
-        float startX = 0f;
-        float startY = p;
-        float cp1X = startX;
-        float cp1Y = startY - a;
-        float cp2X = startX;
-        float cp2Y = startY - a - b;
-        float end1X = startX + d;
-        float end1Y = startY - a - b - c;
-        path.cubicTo(cp1X, cp1Y, cp2X, cp2Y, end1X, end1Y);
-
-        float cx = R;
-        float cy = R;
-        float end2X = end1X + arc;
-        float end2Y = end1Y - arc;
-        helper.arcFromTo(cx, cy, R, end1X, end1Y, end2X, end2Y);
-
-        float finalX = p;
-        float finalY = 0f;
-        float cp3X = end2X + c;
-        float cp3Y = end2Y - d;
-        float cp4X = end2X + b + c;
-        float cp4Y = end2Y - d;
-        path.cubicTo(cp3X, cp3Y, cp4X, cp4Y, finalX, finalY);
-      } else {
-        path.lineTo(0f, 0f);
-      }
+      return Float.compare(cornerSmoothing, other.cornerSmoothing) == 0;
     }
 
-    path.close();
-    return path;
+    @Override
+    public int hashCode() {
+      return Float.floatToIntBits(cornerSmoothing);
+    }
   }
 
-  private static float toRadians(float degrees) {
-    return (float) (degrees * Math.PI / 180f);
+  private static class Scratch {
+    final CornerParams topLeft = new CornerParams();
+    final CornerParams topRight = new CornerParams();
+    final CornerParams bottomLeft = new CornerParams();
+    final CornerParams bottomRight = new CornerParams();
+    final CornerParams unit = new CornerParams();
+    final float[] roundRectRadii = new float[8];
+    final RectF insetRect = new RectF();
+    final SquircleGeometry geometry = new SquircleGeometry();
   }
 
+  // Control points and end points of the three cubics making up a corner
+  private static final int LOCAL_POINT_COUNT = 9;
+
   private static class CornerParams {
-    public final float a, b, c, d, p, arcSectionLength, cornerRadius;
+    public float a, b, c, d, p, arcSectionLength, cornerRadius, arcControlRatio;
+
+    // Corner curve in the corner local frame, see getSVGPathFromPathParams
+    public final float[] localPoints = new float[LOCAL_POINT_COUNT * 2];
 
-    public CornerParams(float a, float b, float c, float d, float p, float arcSectionLength, float cornerRadius) {
+    public void set(float a, float b, float c, float d, float p, float arcSectionLength, float cornerRadius, float arcControlRatio) {
       this.a = a;
       this.b = b;
       this.c = c;
@@ -246,6 +440,44 @@ public class SquirclePathCalculator {
       this.p = p;
       this.arcSectionLength = arcSectionLength;
       this.cornerRadius = cornerRadius;
+      this.arcControlRatio = arcControlRatio;
+
+      computeLocalPoints();
+    }
+
+    private void computeLocalPoints() {
+      float R = cornerRadius, k = arcControlRatio;
+      float[] l = localPoints;
+
+      // Smoothing curve leaving the incoming edge
+      l[0] = p - a;
+      l[1] = 0f;
+      l[2] = p - a - b;
+      l[3] = 0f;
+      float end1X = p - a - b - c;
+      float end1Y = d;
+      l[4] = end1X;
+      l[5] = end1Y;
+
+      // Circular section around (R, R), approximated by a single cubic. The section never exceeds
+      // 90 degrees, where the max radial deviation from the true arc is about 0.027% of the radius
+      // (~0.08px for a 300px radius), so it is invisible at any real size.
+      float end2X = end1X - arcSectionLength;
+      float end2Y = end1Y + arcSectionLength;
+      l[6] = end1X + k * (end1Y - R);
+      l[7] = end1Y + k * (R - end1X);
+      l[8] = end2X - k * (end2Y - R);
+      l[9] = end2Y - k * (R - end2X);
+      l[10] = end2X;
+      l[11] = end2Y;
+
+      // Smoothing curve joining the outgoing edge
+      l[12] = end2X - d;
+      l[13] = end2Y + c;
+      l[14] = end2X - d;
+      l[15] = end2Y + b + c;
+      l[16] = 0f;
+      l[17] = p;
     }
   }
 }
@@ -0,0 +1,222 @@
+package com.fastsquircle.utils;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.MaskFilter;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Process-wide LRU cache of blurred squircle shadows stored as nine-slice alpha tiles.
+ * <p>
+ * The straight edges of a squircle blur uniformly, so the shadow of any size is composed of the four
+ * blurred corners of a small squircle and its center row and column stretched in between. Tiles only
+ * depend on the corner radius, smoothing, blur and spread, resizing the view or animating the shadow
+ * color never blurs again. Tiles are drawn with the paint color, see {@link Tile#draw(Canvas, RectF, Paint)}.
+ */
+public class SquircleShadowAtlas {
+
+  private static final int MAX_BYTES = 4 * 1024 * 1024;
+
+  // Three sigmas, React Native blurs with a sigma of half the blur radius
+  private static final float BLUR_EXTENT = 1.5f;
+
+  private static final LinkedHashMap<Key, Tile> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private static int byteCount = 0;
+  private static int geometryClearCount = SquircleGeometryCache.getClearCount();
+
+  // Reused for lookups so that a cache hit does not allocate
+  private static final Key lookupKey = new Key();
+
+  /**
+   * Returns the tile of a shadow with the given uniform corner radius and spread in pixels, blurred
+   * by {@code maskFilter}, which has to match {@code blurRadius}. Null when the corner slices don't
+   * fit in a shadow of {@code width} by {@code height} pixels or the tile would exceed the budget of
+   * the atlas, the shadow has to be drawn another way then.
+   */
+  @Nullable
+  public static synchronized Tile get(float cornerRadius, float cornerSmoothing, float blurRadius, float spread,
+                                      float density, MaskFilter maskFilter, float width, float height) {
+    // Tiles built with the previous geometry settings would look different from the paths
+    if (geometryClearCount != SquircleGeometryCache.getClearCount()) {
+      geometryClearCount = SquircleGeometryCache.getClearCount();
+      entries.clear();
+      byteCount = 0;
+    }
+
+    // Radii are clamped like the path does, e.g. for pills written as a huge radius
+    float minSize = Math.min(width, height);
+    cornerRadius = Math.max(Math.min(cornerRadius, minSize / 2f - spread), 0f);
+
+    cornerRadius = SquircleCacheQuantization.quantizeSize(cornerRadius);
+    cornerSmoothing = SquircleCacheQuantization.quantizeSmoothing(cornerSmoothing);
+    spread = SquircleCacheQuantization.quantizeSize(spread);
+
+    int blurExtent = getBlurExtent(blurRadius * density);
+    int sliceSize = getSliceSize(cornerRadius + spread, cornerSmoothing, blurExtent);
+    if (minSize + 2 * blurExtent < 2 * sliceSize) return null;
+
+    int bitmapSize = 2 * sliceSize + 1;
+    if ((long) bitmapSize * bitmapSize > MAX_BYTES) return null;
+
+    lookupKey.set(cornerRadius, cornerSmoothing, blurRadius, spread, density);
+
+    Tile tile = entries.get(lookupKey);
+    if (tile != null) return tile;
+
+    tile = createTile(cornerRadius + spread, cornerSmoothing, blurExtent, sliceSize, maskFilter);
+
+    var key = new Key();
+    key.set(cornerRadius, cornerSmoothing, blurRadius, spread, density);
+    entries.put(key, tile);
+    byteCount += tile.bitmap.getAllocationByteCount();
+    trim();
+
+    return tile;
+  }
+
+  public static synchronized int size() {
+    return entries.size();
+  }
+
+  public static synchronized void clear() {
+    entries.clear();
+    byteCount = 0;
+  }
+
+  private static void trim() {
+    Iterator<Tile> iterator = entries.values().iterator();
+    while (byteCount > MAX_BYTES) {
+      byteCount -= iterator.next().bitmap.getAllocationByteCount();
+      iterator.remove();
+    }
+  }
+
+  private static int getBlurExtent(float blurRadius) {
+    return (int) Math.ceil(BLUR_EXTENT * blurRadius) + 1;
+  }
+
+  // The corner slice covers the corner curve and the blur on both sides of it, plus one pixel of
+  // straight edge, the center row and column are then not affected by any corner
+  private static int getSliceSize(float cornerRadius, float cornerSmoothing, int blurExtent) {
+    int cornerExtent = (int) Math.ceil((1 + cornerSmoothing) * cornerRadius);
+    return cornerExtent + 2 * blurExtent + 1;
+  }
+
+  private static Tile createTile(float cornerRadius, float cornerSmoothing, int blurExtent, int sliceSize,
+                                 MaskFilter maskFilter) {
+    int bitmapSize = 2 * sliceSize + 1;
+    float shapeSize = bitmapSize - 2 * blurExtent;
+
+    var bitmap = Bitmap.createBitmap(bitmapSize, bitmapSize, Bitmap.Config.ALPHA_8);
+    var canvas = new Canvas(bitmap);
+    var paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    paint.setMaskFilter(maskFilter);
+
+    var path = SquirclePathCalculator.getPath(
+      cornerRadius, cornerRadius, cornerRadius, cornerRadius,
+      shapeSize, shapeSize, cornerSmoothing
+    );
+    canvas.translate(blurExtent, blurExtent);
+    canvas.drawPath(path, paint);
+
+    return new Tile(bitmap, sliceSize, blurExtent);
+  }
+
+  /**
+   * Blurred squircle of the atlas. The shape sits {@code blurExtent} pixels inside the bitmap, which
+   * is split in corner slices of {@code sliceSize} pixels and a center row and column of one pixel.
+   */
+  public static class Tile {
+    private final Bitmap bitmap;
+    private final int sliceSize;
+    private final int blurExtent;
+
+    private final Rect src = new Rect();
+    private final RectF dst = new RectF();
+
+    Tile(Bitmap bitmap, int sliceSize, int blurExtent) {
+      this.bitmap = bitmap;
+      this.sliceSize = sliceSize;
+      this.blurExtent = blurExtent;
+    }
+
+    /**
+     * Draws the shadow of the squircle filling {@code shape}, the blur extends outside of it.
+     */
+    public void draw(Canvas canvas, RectF shape, @Nullable Paint paint) {
+      float left = shape.left - blurExtent;
+      float top = shape.top - blurExtent;
+      float right = shape.right + blurExtent;
+      float bottom = shape.bottom + blurExtent;
+
+      int size = bitmap.getWidth();
+      int center = sliceSize;
+
+      // Views record their drawing on the UI thread, the scratch rects can be shared between views
+      drawRow(canvas, paint, 0, center, top, top + sliceSize, left, right, size);
+      drawRow(canvas, paint, center, center + 1, top + sliceSize, bottom - sliceSize, left, right, size);
+      drawRow(canvas, paint, center + 1, size, bottom - sliceSize, bottom, left, right, size);
+    }
+
+    private void drawRow(Canvas canvas, @Nullable Paint paint, int srcTop, int srcBottom,
+                         float dstTop, float dstBottom, float left, float right, int size) {
+      if (dstBottom <= dstTop) return;
+
+      int center = sliceSize;
+      drawSlice(canvas, paint, 0, srcTop, center, srcBottom, left, dstTop, left + sliceSize, dstBottom);
+      drawSlice(canvas, paint, center, srcTop, center + 1, srcBottom, left + sliceSize, dstTop, right - sliceSize, dstBottom);
+      drawSlice(canvas, paint, center + 1, srcTop, size, srcBottom, right - sliceSize, dstTop, right, dstBottom);
+    }
+
+    private void drawSlice(Canvas canvas, @Nullable Paint paint,
+                           int srcLeft, int srcTop, int srcRight, int srcBottom,
+                           float dstLeft, float dstTop, float dstRight, float dstBottom) {
+      if (dstRight <= dstLeft) return;
+
+      src.set(srcLeft, srcTop, srcRight, srcBottom);
+      dst.set(dstLeft, dstTop, dstRight, dstBottom);
+      canvas.drawBitmap(bitmap, src, dst, paint);
+    }
+  }
+
+  private static class Key {
+    private float cornerRadius, cornerSmoothing, blurRadius, spread, density;
+
+    void set(float cornerRadius, float cornerSmoothing, float blurRadius, float spread, float density) {
+      this.cornerRadius = cornerRadius;
+      this.cornerSmoothing = cornerSmoothing;
+      this.blurRadius = blurRadius;
+      this.spread = spread;
+      this.density = density;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof Key other)) return false;
+
+      return Float.compare(cornerRadius, other.cornerRadius) == 0
+        && Float.compare(cornerSmoothing, other.cornerSmoothing) == 0
+        && Float.compare(blurRadius, other.blurRadius) == 0
+        && Float.compare(spread, other.spread) == 0
+        && Float.compare(density, other.density) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = Float.floatToIntBits(cornerRadius);
+      result = 31 * result + Float.floatToIntBits(cornerSmoothing);
+      result = 31 * result + Float.floatToIntBits(blurRadius);
+      result = 31 * result + Float.floatToIntBits(spread);
+      result = 31 * result + Float.floatToIntBits(density);
+      return result;
+    }
+  }
+}
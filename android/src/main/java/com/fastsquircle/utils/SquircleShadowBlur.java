@@ -0,0 +1,43 @@
+package com.fastsquircle.utils;
+
+import android.os.Build;
+
+import com.facebook.react.uimanager.PixelUtil;
+
+/**
+ * Opt-in GPU blur of squircle shadows.
+ * <p>
+ * When enabled, blurred shadows are recorded as a sharp silhouette into a RenderNode blurred by a
+ * RenderEffect, so the blur runs on the RenderThread instead of rasterizing a blur mask filter or
+ * composing a {@link SquircleShadowAtlas} tile. Requires API 31, older APIs and software canvases
+ * keep the default pipeline.
+ */
+public class SquircleShadowBlur {
+
+  // Skia converts blur radii to sigmas the same way for mask filters and render effects
+  private static final float RADIUS_TO_SIGMA = 0.57735f;
+
+  private static volatile boolean renderEffectEnabled = false;
+
+  public static boolean isRenderEffectEnabled() {
+    return renderEffectEnabled && Build.VERSION.SDK_INT >= Build.VERSION_CODES.S;
+  }
+
+  public static void setRenderEffectEnabled(boolean enabled) {
+    SquircleShadowBlur.renderEffectEnabled = enabled;
+  }
+
+  /**
+   * Sigma in pixels of a box shadow blur radius in DIP, React Native blurs with half the blur radius.
+   */
+  public static float getSigma(float blurRadius) {
+    return 0.5f * PixelUtil.toPixelFromDIP(blurRadius);
+  }
+
+  /**
+   * Radius to pass to a blur effect for it to blur with {@code sigma}.
+   */
+  public static float getEffectRadius(float sigma) {
+    return sigma > 0.5f ? (sigma - 0.5f) / RADIUS_TO_SIGMA : 0f;
+  }
+}
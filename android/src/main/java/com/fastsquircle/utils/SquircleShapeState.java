@@ -0,0 +1,98 @@
+package com.fastsquircle.utils;
+
+import androidx.annotation.Nullable;
+
+import com.facebook.react.uimanager.style.BorderRadiusProp;
+import com.facebook.react.uimanager.style.BorderRadiusStyle;
+
+import java.util.Objects;
+
+/**
+ * Geometry inputs of a squircle drawable stamped with a generation, so paths are only rebuilt when
+ * the bounds, radii, smoothing or layout direction change instead of on every draw.
+ * <p>
+ * Every setter returns whether its input changed and bumps the generation when it did. Colors are
+ * deliberately not part of it, they only ever touch the Paint.
+ */
+public class SquircleShapeState {
+
+  private static final BorderRadiusProp[] BORDER_RADIUS_PROPS = BorderRadiusProp.values();
+
+  private int generation = 0;
+  private int cacheClearCount = SquircleGeometryCache.getClearCount();
+
+  private float width = -1f;
+  private float height = -1f;
+  private float cornerSmoothing = Float.NaN;
+  private int layoutDirection = -1;
+
+  // Copy of the last border radius style, React Native mutates the style in place
+  private final BorderRadiusStyle borderRadius = new BorderRadiusStyle();
+  private boolean hasBorderRadius = false;
+
+  /**
+   * Generation of the current inputs, also bumped when the geometry settings change.
+   */
+  public int getGeneration() {
+    int clearCount = SquircleGeometryCache.getClearCount();
+    if (clearCount != cacheClearCount) {
+      cacheClearCount = clearCount;
+      generation++;
+    }
+
+    return generation;
+  }
+
+  public boolean setSize(float width, float height) {
+    if (this.width == width && this.height == height) return false;
+
+    this.width = width;
+    this.height = height;
+    generation++;
+    return true;
+  }
+
+  public boolean setCornerSmoothing(float cornerSmoothing) {
+    if (this.cornerSmoothing == cornerSmoothing) return false;
+
+    this.cornerSmoothing = cornerSmoothing;
+    generation++;
+    return true;
+  }
+
+  public boolean setLayoutDirection(int layoutDirection) {
+    if (this.layoutDirection == layoutDirection) return false;
+
+    this.layoutDirection = layoutDirection;
+    generation++;
+    return true;
+  }
+
+  /**
+   * Unresolved radii, compared value by value against a copy of the last style.
+   */
+  public boolean setBorderRadius(@Nullable BorderRadiusStyle borderRadius) {
+    if (borderRadius == null) {
+      if (!hasBorderRadius) return false;
+
+      hasBorderRadius = false;
+      generation++;
+      return true;
+    }
+
+    boolean changed = !hasBorderRadius;
+    for (var property : BORDER_RADIUS_PROPS) {
+      var value = borderRadius.get(property);
+      if (!Objects.equals(this.borderRadius.get(property), value)) {
+        this.borderRadius.set(property, value);
+        changed = true;
+      }
+    }
+
+    if (!changed) return false;
+
+    hasBorderRadius = true;
+    generation++;
+    return true;
+  }
+}
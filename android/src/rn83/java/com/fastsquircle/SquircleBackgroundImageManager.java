@@ -1,57 +1,41 @@
 package com.fastsquircle;
 
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.LayerDrawable;
+
+import androidx.annotation.Nullable;
 
 import com.facebook.react.uimanager.drawable.BackgroundImageDrawable;
 import com.fastsquircle.drawables.SquircleBackgroundImageDrawable;
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
-public class SquircleBackgroundImageManager {
-
-  private float cornerSmoothing = 0.0f;
-  private SquircleBackgroundImageDrawable squircleBackgroundImageDrawable;
+import java.util.Collections;
+import java.util.List;
 
-  public void setCornerSmoothing(float cornerSmoothing) {
-    this.cornerSmoothing = cornerSmoothing;
-
-    if (this.squircleBackgroundImageDrawable != null) {
-      this.squircleBackgroundImageDrawable.setCornerSmoothing(cornerSmoothing);
-    }
-  }
+public class SquircleBackgroundImageManager {
 
-  public DrawManager getDrawManager() {
-    return new DrawManager();
+  /**
+   * Drawable classes used by this manager, checked by {@link SquircleCompatibility#probe()}.
+   */
+  public static List<Class<?>> getDrawableClasses() {
+    return Collections.singletonList(SquircleBackgroundImageDrawable.class);
   }
 
-  public class DrawManager {
-    private int backgroundImageDrawableIndex = -1;
-    private BackgroundImageDrawable backgroundImageDrawable = null;
-
-    private DrawManager() {}
-
-    public void checkLayer(Drawable layer, int index) {
-      if (backgroundImageDrawableIndex < 0 && layer instanceof BackgroundImageDrawable) {
-        backgroundImageDrawableIndex = index;
-      }
-    }
-
-    public void beforeDraw(LayerDrawable layerDrawable) {
-      if (backgroundImageDrawableIndex >= 0) {
-        backgroundImageDrawable = (BackgroundImageDrawable) layerDrawable.getDrawable(backgroundImageDrawableIndex);
-        if (squircleBackgroundImageDrawable == null) {
-          squircleBackgroundImageDrawable = new SquircleBackgroundImageDrawable(backgroundImageDrawable, cornerSmoothing);
-        } else {
-          squircleBackgroundImageDrawable.setBase(backgroundImageDrawable);
-        }
-      }
-
-      if (backgroundImageDrawableIndex >= 0) layerDrawable.setDrawable(backgroundImageDrawableIndex, squircleBackgroundImageDrawable);
-    }
+  private SquircleBackgroundImageDrawable squircleBackgroundImageDrawable;
 
-    public void afterDraw(LayerDrawable layerDrawable) {
-      if (backgroundImageDrawableIndex >= 0) layerDrawable.setDrawable(backgroundImageDrawableIndex, backgroundImageDrawable);
+  /**
+   * Squircle replacement for a layer of the composite background, or null when the layer is kept.
+   */
+  @Nullable
+  public Drawable getLayerReplacement(@Nullable Drawable layer, SquircleLayerGeometry layerGeometry) {
+    if (!(layer instanceof BackgroundImageDrawable backgroundImageDrawable)) return null;
+
+    if (squircleBackgroundImageDrawable == null) {
+      squircleBackgroundImageDrawable = new SquircleBackgroundImageDrawable(backgroundImageDrawable, layerGeometry);
+    } else {
+      squircleBackgroundImageDrawable.setBase(backgroundImageDrawable);
     }
 
+    return squircleBackgroundImageDrawable;
   }
 
 }
@@ -4,8 +4,12 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.drawable.Drawable;
 
+import androidx.annotation.Nullable;
+
 import com.facebook.react.uimanager.drawable.BackgroundDrawable;
 import com.facebook.react.uimanager.drawable.CompositeBackgroundDrawable;
+import com.facebook.react.uimanager.style.BorderRadiusStyle;
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
 public class SquircleCSSBackgroundManager {
   public BackgroundDrawable getCSSBackground(Context context) {
@@ -15,7 +19,12 @@ public class SquircleCSSBackgroundManager {
   public void setCornerSmoothing(Drawable background, float cornerSmoothing) {
   }
 
-  public void dispatchDraw(Canvas canvas, CompositeBackgroundDrawable compositeBackgroundDrawable) {
+  @Nullable
+  public BorderRadiusStyle getBorderRadius(CompositeBackgroundDrawable compositeBackground) {
+    return compositeBackground.getBorderRadius();
+  }
+
+  public void dispatchDraw(Canvas canvas, CompositeBackgroundDrawable compositeBackgroundDrawable, SquircleLayerGeometry layerGeometry) {
   }
 
 }
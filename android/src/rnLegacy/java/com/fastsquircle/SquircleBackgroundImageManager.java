@@ -1,28 +1,26 @@
 package com.fastsquircle;
 
 import android.graphics.drawable.Drawable;
-import android.graphics.drawable.LayerDrawable;
 
-public class SquircleBackgroundImageManager {
-  public void setCornerSmoothing(float cornerSmoothing) {
-  }
-
-  public DrawManager getDrawManager() {
-    return new DrawManager();
-  }
+import androidx.annotation.Nullable;
 
-  public static class DrawManager {
-    private DrawManager() {}
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
-    public void checkLayer(Drawable layer, int index) {
-    }
+import java.util.Collections;
+import java.util.List;
 
-    public void beforeDraw(LayerDrawable layerDrawable) {
-    }
+public class SquircleBackgroundImageManager {
 
-    public void afterDraw(LayerDrawable layerDrawable) {
-    }
+  /**
+   * Drawable classes used by this manager, checked by {@link SquircleCompatibility#probe()}.
+   */
+  public static List<Class<?>> getDrawableClasses() {
+    return Collections.emptyList();
+  }
 
+  @Nullable
+  public Drawable getLayerReplacement(@Nullable Drawable layer, SquircleLayerGeometry layerGeometry) {
+    return null;
   }
 
 }
@@ -285,6 +285,12 @@ public class SquircleCSSBackgroundDrawable extends CSSBackgroundDrawable {
     return null;
   }
 
+  private static float getCenterDrawRadius(CornerRadii radii, float borderWidthX, float borderWidthY) {
+    float horizontal = radii.getHorizontal() > 0 ? radii.getHorizontal() + borderWidthX * 0.5f : 0;
+    float vertical = radii.getVertical() > 0 ? radii.getVertical() + borderWidthY * 0.5f : 0;
+    return Math.min(horizontal, vertical);
+  }
+
   private void updatePath() {
     if (!mNeedUpdatePathForBorderRadius) {
       return;
@@ -432,11 +438,12 @@ public class SquircleCSSBackgroundDrawable extends CSSBackgroundDrawable {
     var rightSizeIncrease = (borderWidth.right > 0 ? mGapBetweenPaths : 0f);
     var topSizeIncrease = (borderWidth.top > 0 ? mGapBetweenPaths : 0f);
     var bottomSizeIncrease = (borderWidth.bottom > 0 ? mGapBetweenPaths : 0f);
-    var squirclePath = SquirclePathCalculator.getPath(
+    SquirclePathCalculator.getPath(
       mComputedBorderRadius,
       getBounds().width() + leftSizeIncrease + rightSizeIncrease - (borderWidth.left + borderWidth.right),
       getBounds().height() + topSizeIncrease + bottomSizeIncrease - (borderWidth.top + borderWidth.bottom),
-      mCornerSmoothing
+      mCornerSmoothing,
+      mBackgroundColorRenderPath
     );
 
     var horizontalOffset = borderWidth.left;
@@ -447,8 +454,7 @@ public class SquircleCSSBackgroundDrawable extends CSSBackgroundDrawable {
     if (topSizeIncrease > 0) verticalOffset -= mGapBetweenPaths;
     if (bottomSizeIncrease > 0) verticalOffset -= mGapBetweenPaths;
 
-    squirclePath.offset(horizontalOffset, verticalOffset);
-    mBackgroundColorRenderPath.set(squirclePath);
+    mBackgroundColorRenderPath.offset(horizontalOffset, verticalOffset);
 
     mOuterClipPathForBorderRadius.addRoundRect(
       mOuterClipTempRectForBorderRadius,
@@ -470,72 +476,29 @@ public class SquircleCSSBackgroundDrawable extends CSSBackgroundDrawable {
       extraRadiusForOutline = mBorderWidth.get(Spacing.ALL) / 2f;
     }
 
-    var mPathForBorderRadiusOutlineRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        PixelUtil.toDIPFromPixel(topLeftRadius.getHorizontal() + extraRadiusForOutline),
-        PixelUtil.toDIPFromPixel(topLeftRadius.getVertical() + extraRadiusForOutline)
-      ),
-      new CornerRadii(
-        PixelUtil.toDIPFromPixel(topRightRadius.getHorizontal() + extraRadiusForOutline),
-        PixelUtil.toDIPFromPixel(topRightRadius.getVertical() + extraRadiusForOutline)
-      ),
-      new CornerRadii(
-        PixelUtil.toDIPFromPixel(bottomLeftRadius.getHorizontal() + extraRadiusForOutline),
-        PixelUtil.toDIPFromPixel(bottomLeftRadius.getVertical() + extraRadiusForOutline)
-      ),
-      new CornerRadii(
-        PixelUtil.toDIPFromPixel(bottomRightRadius.getHorizontal() + extraRadiusForOutline),
-        PixelUtil.toDIPFromPixel(bottomRightRadius.getVertical() + extraRadiusForOutline)
-      )
-    );
-
-    mPathForBorderRadiusOutline.set(SquirclePathCalculator.getPath(
-      mPathForBorderRadiusOutlineRadius,
+    // Radii are already resolved in pixels here, so the squircle paths are built from them directly
+    // instead of going through intermediate ComputedBorderRadius objects
+    SquirclePathCalculator.getPath(
+      Math.min(topLeftRadius.getHorizontal(), topLeftRadius.getVertical()) + extraRadiusForOutline,
+      Math.min(topRightRadius.getHorizontal(), topRightRadius.getVertical()) + extraRadiusForOutline,
+      Math.min(bottomLeftRadius.getHorizontal(), bottomLeftRadius.getVertical()) + extraRadiusForOutline,
+      Math.min(bottomRightRadius.getHorizontal(), bottomRightRadius.getVertical()) + extraRadiusForOutline,
       mTempRectForBorderRadiusOutline.width(),
       mTempRectForBorderRadiusOutline.height(),
-      mCornerSmoothing
-    ));
-
-    var mCenterDrawPathRadius = new ComputedBorderRadius(
-      new CornerRadii(
-        topLeftRadius.getHorizontal() > 0
-        ? PixelUtil.toDIPFromPixel(topLeftRadius.getHorizontal() + borderWidth.left * 0.5f)
-        : 0,
-        topLeftRadius.getVertical() > 0
-        ? PixelUtil.toDIPFromPixel(topLeftRadius.getVertical() + borderWidth.top * 0.5f)
-        : 0
-      ),
-      new CornerRadii(
-        topRightRadius.getHorizontal() > 0
-        ? PixelUtil.toDIPFromPixel(topRightRadius.getHorizontal() + borderWidth.right * 0.5f)
-        : 0,
-        topRightRadius.getVertical() > 0
-        ? PixelUtil.toDIPFromPixel(topRightRadius.getVertical() + borderWidth.top * 0.5f)
-        : 0
-      ),
-      new CornerRadii(
-        bottomLeftRadius.getHorizontal() > 0
-        ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getHorizontal() + borderWidth.left * 0.5f)
-        : 0,
-        bottomLeftRadius.getVertical() > 0
-        ? PixelUtil.toDIPFromPixel(bottomLeftRadius.getVertical() + borderWidth.bottom * 0.5f)
-        : 0
-      ),
-      new CornerRadii(
-        bottomRightRadius.getHorizontal() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getHorizontal() + borderWidth.right * 0.5f)
-          : 0,
-        bottomRightRadius.getVertical() > 0 ?
-          PixelUtil.toDIPFromPixel(bottomRightRadius.getVertical() + borderWidth.right * 0.5f)
-          : 0
-      )
+      mCornerSmoothing,
+      mPathForBorderRadiusOutline
     );
-    mCenterDrawPath.set(SquirclePathCalculator.getPath(
-      mCenterDrawPathRadius,
+
+    SquirclePathCalculator.getPath(
+      getCenterDrawRadius(topLeftRadius, borderWidth.left, borderWidth.top),
+      getCenterDrawRadius(topRightRadius, borderWidth.right, borderWidth.top),
+      getCenterDrawRadius(bottomLeftRadius, borderWidth.left, borderWidth.bottom),
+      getCenterDrawRadius(bottomRightRadius, borderWidth.right, borderWidth.bottom),
       mTempRectForCenterDrawPath.width(),
       mTempRectForCenterDrawPath.height(),
-      mCornerSmoothing
-    ));
+      mCornerSmoothing,
+      mCenterDrawPath
+    );
     mCenterDrawPath.offset(
       borderWidth.left * 0.5f,
       borderWidth.top * 0.5f
@@ -1138,6 +1101,10 @@ public class SquircleCSSBackgroundDrawable extends CSSBackgroundDrawable {
     return mComputedBorderRadius;
   }
 
+  public BorderRadiusStyle getBorderRadiusStyle() {
+    return mBorderRadius;
+  }
+
   public float getCornerSmoothing() {
     return mCornerSmoothing;
   }
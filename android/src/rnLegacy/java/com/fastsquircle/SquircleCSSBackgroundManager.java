@@ -2,8 +2,11 @@ package com.fastsquircle;
 
 import android.content.Context;
 import android.graphics.Canvas;
+import android.graphics.Path;
+import android.graphics.RectF;
 import android.graphics.drawable.Drawable;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.OptIn;
 
 import com.facebook.react.common.annotations.UnstableReactNativeAPI;
@@ -11,10 +14,16 @@ import com.facebook.react.internal.featureflags.ReactNativeFeatureFlags;
 import com.facebook.react.uimanager.drawable.BackgroundDrawable;
 import com.facebook.react.uimanager.drawable.CSSBackgroundDrawable;
 import com.facebook.react.uimanager.drawable.CompositeBackgroundDrawable;
+import com.facebook.react.uimanager.style.BorderRadiusStyle;
 import com.fastsquircle.drawables.SquircleCSSBackgroundDrawable;
-import com.fastsquircle.utils.SquirclePathCalculator;
+import com.fastsquircle.utils.SquircleLayerGeometry;
 
 public class SquircleCSSBackgroundManager {
+  private final Path clipPath = new Path();
+  // Inputs of clipPath
+  private int clipGeneration = -1;
+  private final RectF clipInsets = new RectF();
+
   @OptIn(markerClass = UnstableReactNativeAPI.class)
   public SquircleCSSBackgroundDrawable getCSSBackground(Context context) {
     return ReactNativeFeatureFlags.enableNewBackgroundAndBorderDrawables()
@@ -33,26 +42,38 @@ public class SquircleCSSBackgroundManager {
     }
   }
 
+  /**
+   * Border radius style of the view, the squircle CSS background keeps its own copy.
+   */
   @OptIn(markerClass = UnstableReactNativeAPI.class)
-  public void dispatchDraw(Canvas canvas, CompositeBackgroundDrawable compositeBackground) {
+  @Nullable
+  public BorderRadiusStyle getBorderRadius(CompositeBackgroundDrawable compositeBackground) {
+    CSSBackgroundDrawable cssBackground = compositeBackground.getCssBackground();
+    if (cssBackground instanceof SquircleCSSBackgroundDrawable squircleCssBackground) {
+      return squircleCssBackground.getBorderRadiusStyle();
+    }
+
+    return compositeBackground.getBorderRadius();
+  }
+
+  /**
+   * Clips the children to the squircle inside the borders, derived from the geometry of the view.
+   */
+  @OptIn(markerClass = UnstableReactNativeAPI.class)
+  public void dispatchDraw(Canvas canvas, CompositeBackgroundDrawable compositeBackground, SquircleLayerGeometry layerGeometry) {
     CSSBackgroundDrawable cssBackground = compositeBackground.getCssBackground();
 
     if (!(cssBackground instanceof SquircleCSSBackgroundDrawable squircleCssBackground)) {
       return;
     }
 
-    var borderRadius = squircleCssBackground.getComputedBorderRadiusBorderRadius();
     var borderWidth = squircleCssBackground.getDirectionAwareBorderInsets();
-    var cornerSmoothing = squircleCssBackground.getCornerSmoothing();
-
-    var squirclePath = SquirclePathCalculator.getPath(
-      borderRadius,
-      squircleCssBackground.getBounds().width() - (borderWidth.left + borderWidth.right),
-      squircleCssBackground.getBounds().height() - (borderWidth.top + borderWidth.bottom),
-      cornerSmoothing
-    );
+    if (layerGeometry.getGeneration() != clipGeneration || !borderWidth.equals(clipInsets)) {
+      clipGeneration = layerGeometry.getGeneration();
+      clipInsets.set(borderWidth);
+      layerGeometry.getInsetPath(borderWidth, clipPath);
+    }
 
-    squirclePath.offset(borderWidth.left, borderWidth.top);
-    canvas.clipPath(squirclePath);
+    canvas.clipPath(clipPath);
   }
 }
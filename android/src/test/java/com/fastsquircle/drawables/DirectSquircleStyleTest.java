@@ -0,0 +1,83 @@
+package com.fastsquircle.drawables;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import android.graphics.Color;
+import android.util.LayoutDirection;
+
+import com.facebook.react.uimanager.style.LogicalEdge;
+
+import java.util.EnumMap;
+
+import org.junit.Test;
+
+public class DirectSquircleStyleTest {
+
+  @Test
+  public void leftAndRightEdgesFollowTheLayoutDirection() {
+    assertArrayEquals(
+      new LogicalEdge[]{LogicalEdge.START, LogicalEdge.LEFT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL},
+      DirectSquircleStyle.getLeftEdges(LayoutDirection.LTR, false)
+    );
+    assertArrayEquals(
+      new LogicalEdge[]{LogicalEdge.END, LogicalEdge.LEFT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL},
+      DirectSquircleStyle.getLeftEdges(LayoutDirection.RTL, false)
+    );
+    assertArrayEquals(
+      new LogicalEdge[]{LogicalEdge.START, LogicalEdge.RIGHT, LogicalEdge.HORIZONTAL, LogicalEdge.ALL},
+      DirectSquircleStyle.getRightEdges(LayoutDirection.RTL, false)
+    );
+  }
+
+  @Test
+  public void swappedRtlEdgesMirrorLeftAndRight() {
+    assertArrayEquals(
+      DirectSquircleStyle.getRightEdges(LayoutDirection.LTR, true),
+      DirectSquircleStyle.getLeftEdges(LayoutDirection.RTL, true)
+    );
+    assertArrayEquals(
+      DirectSquircleStyle.getLeftEdges(LayoutDirection.LTR, true),
+      DirectSquircleStyle.getRightEdges(LayoutDirection.RTL, true)
+    );
+  }
+
+  @Test
+  public void widthOfTheMostSpecificEdgeWins() {
+    var widths = new EnumMap<LogicalEdge, Float>(LogicalEdge.class);
+    widths.put(LogicalEdge.ALL, 1f);
+    widths.put(LogicalEdge.HORIZONTAL, 2f);
+    widths.put(LogicalEdge.START, 3f);
+
+    var edges = DirectSquircleStyle.getLeftEdges(LayoutDirection.LTR, false);
+    assertEquals(3f, DirectSquircleStyle.resolveWidth(widths::get, edges), 0f);
+
+    widths.remove(LogicalEdge.START);
+    assertEquals(2f, DirectSquircleStyle.resolveWidth(widths::get, edges), 0f);
+  }
+
+  @Test
+  public void unsetWidthsAreSkippedAndNegativeWidthsClamped() {
+    var widths = new EnumMap<LogicalEdge, Float>(LogicalEdge.class);
+    var edges = DirectSquircleStyle.getRightEdges(LayoutDirection.LTR, false);
+    assertEquals(0f, DirectSquircleStyle.resolveWidth(widths::get, edges), 0f);
+
+    widths.put(LogicalEdge.END, Float.NaN);
+    widths.put(LogicalEdge.RIGHT, 4f);
+    assertEquals(4f, DirectSquircleStyle.resolveWidth(widths::get, edges), 0f);
+
+    widths.put(LogicalEdge.END, -2f);
+    assertEquals(0f, DirectSquircleStyle.resolveWidth(widths::get, edges), 0f);
+  }
+
+  @Test
+  public void colorsFallBackToBlack() {
+    var colors = new EnumMap<LogicalEdge, Integer>(LogicalEdge.class);
+    var topEdges = new LogicalEdge[]{LogicalEdge.BLOCK_START, LogicalEdge.TOP, LogicalEdge.ALL};
+    assertEquals(Color.BLACK, DirectSquircleStyle.resolveColor(colors::get, topEdges));
+
+    colors.put(LogicalEdge.ALL, Color.RED);
+    colors.put(LogicalEdge.BLOCK_START, Color.BLUE);
+    assertEquals(Color.BLUE, DirectSquircleStyle.resolveColor(colors::get, topEdges));
+  }
+}
@@ -0,0 +1,90 @@
+package com.fastsquircle.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class SquircleFastMathTest {
+
+  private static final int SWEEP_STEPS = 100_000;
+
+  private static final float[] SMOOTHINGS = {0f, 0.1f, 0.25f, 0.5f, 0.6f, 0.75f, 0.9f, 1f};
+
+  @Test
+  public void arcSectionLengthStaysWithinErrorBound() {
+    for (int i = 0; i <= SWEEP_STEPS; i++) {
+      float s = (float) i / SWEEP_STEPS;
+      assertEquals("s = " + s, SquirclePathCalculator.unitArcSectionLength(s), SquircleFastMath.arcSectionLength(s), SquircleFastMath.MAX_UNIT_ERROR);
+    }
+  }
+
+  @Test
+  public void cStaysWithinErrorBound() {
+    for (int i = 0; i <= SWEEP_STEPS; i++) {
+      float s = (float) i / SWEEP_STEPS;
+      assertEquals("s = " + s, SquirclePathCalculator.unitC(s), SquircleFastMath.c(s), SquircleFastMath.MAX_UNIT_ERROR);
+    }
+  }
+
+  @Test
+  public void dStaysWithinErrorBound() {
+    for (int i = 0; i <= SWEEP_STEPS; i++) {
+      float s = (float) i / SWEEP_STEPS;
+      assertEquals("s = " + s, SquirclePathCalculator.unitD(s), SquircleFastMath.d(s), SquircleFastMath.MAX_UNIT_ERROR);
+    }
+  }
+
+  @Test
+  public void arcControlRatioStaysWithinErrorBound() {
+    for (int i = 0; i <= SWEEP_STEPS; i++) {
+      float s = (float) i / SWEEP_STEPS;
+      assertEquals("s = " + s, SquirclePathCalculator.unitArcControlRatio(s), SquircleFastMath.arcControlRatio(s), SquircleFastMath.MAX_UNIT_ERROR);
+    }
+  }
+
+  @Test
+  public void smoothingOutsideOfTheTableIsClamped() {
+    assertEquals(SquircleFastMath.c(0f), SquircleFastMath.c(-0.5f), 0f);
+    assertEquals(SquircleFastMath.c(1f), SquircleFastMath.c(1.5f), 0f);
+  }
+
+  @Test
+  public void pathsStayWithinErrorBoundAtRealisticRadii() {
+    var exact = new SquircleGeometry();
+    var fast = new SquircleGeometry();
+
+    try {
+      for (float smoothing : SMOOTHINGS) {
+        for (float radius = 0.5f; radius <= 1000f; radius *= 1.05f) {
+          // Room for the whole corner, plus a clamped variant where the smoothing is cut by the size
+          for (float size : new float[]{2f * (1 + smoothing) * radius + 10f, 2f * radius}) {
+            SquircleFastMath.setEnabled(false);
+            SquirclePathCalculator.getGeometry(radius, radius, radius, radius, size, size, smoothing, exact);
+            SquircleFastMath.setEnabled(true);
+            SquirclePathCalculator.getGeometry(radius, radius, radius, radius, size, size, smoothing, fast);
+
+            float error = getMaxCoordDifference(exact, fast);
+            // Each point sums a few corner lengths, plus float rounding of coordinates up to the size
+            float bound = 4f * radius * SquircleFastMath.MAX_UNIT_ERROR + 4f * Math.ulp(size);
+            assertTrue("radius = " + radius + ", smoothing = " + smoothing + ", size = " + size + ": " + error, error <= bound);
+            // Far below what a pixel could show at any of these radii
+            assertTrue("radius = " + radius + ": " + error, error < 0.02f);
+          }
+        }
+      }
+    } finally {
+      SquircleFastMath.setEnabled(false);
+    }
+  }
+
+  private static float getMaxCoordDifference(SquircleGeometry a, SquircleGeometry b) {
+    assertEquals(a.getCoordCount(), b.getCoordCount());
+
+    float max = 0f;
+    for (int i = 0; i < a.getCoordCount(); i++) {
+      max = Math.max(max, Math.abs(a.getCoords()[i] - b.getCoords()[i]));
+    }
+    return max;
+  }
+}
@@ -0,0 +1,23 @@
+package com.fastsquircle.utils;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class SquirclePathCalculatorTest {
+
+  @Test
+  public void cornersAreNotSnappedToTheCacheGrid() {
+    var geometry = new SquircleGeometry();
+
+    // Neither value is on the 0.25px / 0.01 grid of the caches
+    float radius = 10.13f;
+    float smoothing = 0.606f;
+    float size = 200f;
+    SquirclePathCalculator.getGeometry(radius, radius, radius, radius, size, size, smoothing, geometry);
+
+    // The path starts where the top right corner begins, p = (1 + smoothing) * radius before the corner
+    assertEquals(size - (1 + smoothing) * radius, geometry.getCoords()[0], 1e-4f);
+    assertEquals(0f, geometry.getCoords()[1], 0f);
+  }
+}
@@ -0,0 +1,26 @@
+package com.fastsquircle.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class SquircleShadowBlurTest {
+
+  @Test
+  public void sigmasTooSmallToBlurDisableTheEffect() {
+    assertEquals(0f, SquircleShadowBlur.getEffectRadius(0f), 0f);
+    assertEquals(0f, SquircleShadowBlur.getEffectRadius(0.5f), 0f);
+  }
+
+  @Test
+  public void renderEffectFallsBackBelowApi31() {
+    // Unit tests run with an API level of 0
+    SquircleShadowBlur.setRenderEffectEnabled(true);
+    try {
+      assertFalse(SquircleShadowBlur.isRenderEffectEnabled());
+    } finally {
+      SquircleShadowBlur.setRenderEffectEnabled(false);
+    }
+  }
+}
@@ -1,9 +1,13 @@
 import codegenNativeComponent from 'react-native/Libraries/Utilities/codegenNativeComponent';
 import type { ViewProps } from 'react-native';
-import type { Float } from 'react-native/Libraries/Types/CodegenTypes';
+import type {
+  Float,
+  WithDefault,
+} from 'react-native/Libraries/Types/CodegenTypes';
 
 interface NativeProps extends ViewProps {
   cornerSmoothing: Float;
+  directDrawing?: WithDefault<boolean, false>;
 }
 
 export default codegenNativeComponent<NativeProps>('FastSquircleView');
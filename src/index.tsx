@@ -4,6 +4,10 @@ import FastSquircleViewNativeComponent from './FastSquircleViewNativeComponent';
 
 export interface FastSquircleViewProps extends ViewProps {
   cornerSmoothing?: number;
+  /**
+   * Android only, draws background and solid borders without reflecting on React Native internals.
+   */
+  directDrawing?: boolean;
 }
 
 const FastSquircleView = forwardRef<View, FastSquircleViewProps>(